@@ -0,0 +1,31 @@
+package com.restaurantqr.bench;
+
+import com.restaurantqr.RestaurantQrApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Boots the application on a private in-memory H2 database (MySQL mode), quiet enough to benchmark.
+ */
+final class BenchmarkApp {
+
+    private BenchmarkApp() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(RestaurantQrApplication.class)
+                .profiles("dev")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID()
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled=false",
+                        "app.jwt.secret=benchmark-secret-benchmark-secret-0123456789",
+                        "logging.level.root=WARN",
+                        "logging.level.com.restaurantqr=WARN"
+                )
+                .run();
+    }
+}
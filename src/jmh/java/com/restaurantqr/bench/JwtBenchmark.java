@@ -0,0 +1,86 @@
+package com.restaurantqr.bench;
+
+import com.restaurantqr.auth.JwtAuthFilter;
+import com.restaurantqr.auth.JwtCacheProperties;
+import com.restaurantqr.auth.JwtProperties;
+import com.restaurantqr.auth.JwtService;
+import com.restaurantqr.auth.TokenRevocationList;
+import com.restaurantqr.auth.TokenRevocationProperties;
+import com.restaurantqr.auth.VerifiedToken;
+import com.restaurantqr.auth.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staff request authentication: full token verification, the verified-token cache, the revocation check
+ * and the whole JwtAuthFilter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache tokenCache;
+    private TokenRevocationList revocationList;
+    private JwtAuthFilter filter;
+    private String token;
+    private String authorizationHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtProperties props = new JwtProperties("benchmark-secret-benchmark-secret-0123456789", "restaurant-qr", 60);
+        jwtService = new JwtService(props);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new VerifiedTokenCache(jwtService, new JwtCacheProperties(10_000, Duration.ofMinutes(15)),
+                meterRegistry);
+        revocationList = new TokenRevocationList(new TokenRevocationProperties(10_000, 0.01), props, meterRegistry);
+        // a populated revocation list, so the filter pays a realistic Bloom lookup
+        for (int i = 0; i < 1_000; i++) {
+            revocationList.revoke(tokenCache.verify(jwtService.generateToken((long) i + 2, "STAFF", 1L)));
+        }
+        filter = new JwtAuthFilter(tokenCache, revocationList);
+        token = jwtService.generateToken(1L, "STAFF", 1L);
+        authorizationHeader = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Jws<Claims> parse() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return tokenCache.verify(token);
+    }
+
+    @Benchmark
+    public boolean revocationCheck() {
+        return revocationList.isRevoked(tokenCache.verify(token));
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/staff/orders");
+        request.addHeader("Authorization", authorizationHeader);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
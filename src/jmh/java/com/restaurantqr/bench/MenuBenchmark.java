@@ -0,0 +1,66 @@
+package com.restaurantqr.bench;
+
+import com.restaurantqr.menu.MenuResponse;
+import com.restaurantqr.menu.MenuService;
+import com.restaurantqr.menu.MenuSnapshotCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Public menu path: snapshot cache hit, snapshot reload (DTO queries + mapping) and JSON encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuBenchmark {
+
+    @Param({"5", "20"})
+    int categories;
+
+    @Param({"50", "300"})
+    int items;
+
+    private ConfigurableApplicationContext ctx;
+    private MenuService menuService;
+    private MenuSnapshotCache snapshotCache;
+    private JsonMapper jsonMapper;
+    private SyntheticRestaurant restaurant;
+    private MenuResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchmarkApp.start();
+        menuService = ctx.getBean(MenuService.class);
+        snapshotCache = ctx.getBean(MenuSnapshotCache.class);
+        jsonMapper = ctx.getBean(JsonMapper.class);
+        restaurant = SyntheticRestaurant.create(ctx, categories, items);
+        response = menuService.getMenuByQrToken(restaurant.qrToken());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public MenuResponse menuByQrTokenCached() {
+        return menuService.getMenuByQrToken(restaurant.qrToken());
+    }
+
+    @Benchmark
+    public MenuResponse menuByQrTokenReload() {
+        snapshotCache.invalidate(restaurant.restaurantId());
+        return menuService.getMenuByQrToken(restaurant.qrToken());
+    }
+
+    @Benchmark
+    public byte[] serializeMenuResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
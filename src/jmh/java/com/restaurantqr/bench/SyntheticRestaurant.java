@@ -0,0 +1,73 @@
+package com.restaurantqr.bench;
+
+import com.restaurantqr.menu.MenuCategory;
+import com.restaurantqr.menu.MenuCategoryRepository;
+import com.restaurantqr.menu.MenuItem;
+import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.restaurant.Restaurant;
+import com.restaurantqr.restaurant.RestaurantRepository;
+import com.restaurantqr.table.RestaurantTable;
+import com.restaurantqr.table.RestaurantTableRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A restaurant with {@code categories} categories and {@code items} items spread over them.
+ */
+record SyntheticRestaurant(Long restaurantId, String qrToken, List<Long> itemIds) {
+
+    static SyntheticRestaurant create(ApplicationContext ctx, int categories, int items) {
+        RestaurantRepository restaurantRepository = ctx.getBean(RestaurantRepository.class);
+        RestaurantTableRepository tableRepository = ctx.getBean(RestaurantTableRepository.class);
+        MenuCategoryRepository categoryRepository = ctx.getBean(MenuCategoryRepository.class);
+        MenuItemRepository itemRepository = ctx.getBean(MenuItemRepository.class);
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Benchmark Restaurant");
+        restaurant.setCode("BENCH");
+        restaurant.setActive(true);
+        restaurantRepository.save(restaurant);
+
+        RestaurantTable table = new RestaurantTable();
+        table.setRestaurant(restaurant);
+        table.setTableNumber(1);
+        table.setQrToken("BENCH-TABLE-1");
+        table.setActive(true);
+        tableRepository.save(table);
+
+        List<MenuCategory> categoryList = new ArrayList<>(categories);
+        for (int c = 0; c < categories; c++) {
+            MenuCategory category = new MenuCategory();
+            category.setRestaurant(restaurant);
+            category.setName("Category " + c);
+            category.setDisplayOrder(c + 1);
+            category.setActive(true);
+            categoryList.add(category);
+        }
+        categoryRepository.saveAll(categoryList);
+
+        List<MenuItem> itemList = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            MenuItem item = new MenuItem();
+            item.setRestaurant(restaurant);
+            item.setCategory(categoryList.get(i % categories));
+            item.setName("Item " + i);
+            item.setDescription("Synthetic menu item number " + i + " with a realistic description length");
+            item.setPrice(BigDecimal.valueOf(150 + (i * 37L) % 2500, 2));
+            item.setAvailable(true);
+            item.setActive(true);
+            item.setDisplayOrder(i + 1);
+            itemList.add(item);
+        }
+        itemRepository.saveAll(itemList);
+
+        return new SyntheticRestaurant(
+                restaurant.getId(),
+                table.getQrToken(),
+                itemList.stream().map(MenuItem::getId).toList()
+        );
+    }
+}
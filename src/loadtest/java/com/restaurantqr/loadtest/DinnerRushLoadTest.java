@@ -0,0 +1,275 @@
+package com.restaurantqr.loadtest;
+
+import com.restaurantqr.RestaurantQrApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dinner rush against the app booted on H2 (dev profile).
+ *
+ * Every table is a party on its own virtual thread: scan the menu, think, order (respecting the order
+ * window), sometimes call a waiter, rescan with the ETag. A small share of parties double-submits
+ * concurrently (table lock contention, 429/409). Every restaurant has a staff member polling the order
+ * cursor and sending new orders to the kitchen.
+ *
+ * Usage: {@code ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--restaurants=10 --duration=5m"}
+ */
+public final class DinnerRushLoadTest {
+
+    private static final String PASSWORD = "123456";
+
+    private final LoadTestConfig config;
+    private final RushClient client;
+    private final JsonMapper json = JsonMapper.builder().build();
+    private final Instant deadline;
+
+    private DinnerRushLoadTest(LoadTestConfig config, RushClient client) {
+        this.config = config;
+        this.client = client;
+        this.deadline = Instant.now().plus(config.rampUp()).plus(config.duration());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+
+        try (ConfigurableApplicationContext ctx = start(config);
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            int port = ctx.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            RushClient client = new RushClient(http, "http://localhost:" + port + "/api/v1");
+
+            Statistics statistics = ctx.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class)
+                    .getStatistics();
+            statistics.clear();
+
+            long started = System.nanoTime();
+            new DinnerRushLoadTest(config, client).run();
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+            Map<String, Object> report = report(config, client, statistics, seconds);
+            String text = JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValueAsString(report);
+            Files.createDirectories(config.report().toAbsolutePath().getParent());
+            Files.writeString(config.report(), text);
+            System.out.println(text);
+            System.out.println("Report written to " + config.report().toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestConfig config) {
+        return new SpringApplicationBuilder(RestaurantQrApplication.class)
+                .profiles("dev")
+                .properties(
+                        "server.port=0",
+                        "spring.h2.console.enabled=false",
+                        "spring.threads.virtual.enabled=" + config.virtualThreads(),
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "app.jwt.secret=loadtest-secret-loadtest-secret-0123456789",
+                        "app.seed.restaurants=" + config.restaurants(),
+                        "app.seed.tables-per-restaurant=" + config.tables(),
+                        "app.seed.categories-per-restaurant=" + config.categories(),
+                        "app.seed.items-per-restaurant=" + config.items(),
+                        "app.rate-limit.order-window=" + config.orderWindow().toMillis() + "ms",
+                        "logging.level.root=WARN",
+                        "logging.level.com.restaurantqr=WARN"
+                )
+                .run();
+    }
+
+    private void run() {
+        try (ExecutorService actors = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 1; r <= config.restaurants(); r++) {
+                String code = r == 1 ? "DEMO" : "LOAD" + r;
+                int restaurant = r;
+                actors.submit(() -> staff(restaurant));
+                for (int t = 1; t <= config.tables(); t++) {
+                    String qrToken = code + "-TABLE-" + t;
+                    actors.submit(() -> party(qrToken));
+                }
+            }
+        }
+    }
+
+    private void party(String qrToken) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sleep(Duration.ofMillis(random.nextLong(Math.max(1, config.rampUp().toMillis()))));
+
+        String etag = null;
+        List<Long> itemIds = List.of();
+
+        while (Instant.now().isBefore(deadline)) {
+            HttpResponse<String> menu = client.get(RushClient.MENU, "/public/tables/" + qrToken + "/menu",
+                    etag == null ? Map.of() : Map.of("If-None-Match", etag));
+            if (menu != null && menu.statusCode() == 200) {
+                etag = menu.headers().firstValue("ETag").orElse(null);
+                itemIds = itemIds(menu.body());
+            }
+
+            sleep(jitter(config.thinkTime()));
+            if (!itemIds.isEmpty()) {
+                String body = orderBody(itemIds);
+                if (random.nextDouble() < config.doubleSubmitRatio()) {
+                    // double tap: two different submissions race for the table lock
+                    Thread other = Thread.ofVirtual().start(() -> submitOrder(qrToken, body));
+                    submitOrder(qrToken, body);
+                    join(other);
+                } else {
+                    submitOrder(qrToken, body);
+                }
+            }
+
+            if (random.nextDouble() < config.serviceCallRatio()) {
+                String type = random.nextBoolean() ? "WAITER" : "BILL";
+                client.send(RushClient.SERVICE_CALL, "POST", "/public/tables/" + qrToken + "/service-calls",
+                        "{\"callType\":\"" + type + "\"}", Map.of());
+            }
+
+            // wait for the order window, rescanning the menu (conditional GET) halfway
+            sleep(config.orderWindow().dividedBy(2));
+            if (etag != null && Instant.now().isBefore(deadline)) {
+                client.get(RushClient.MENU, "/public/tables/" + qrToken + "/menu", Map.of("If-None-Match", etag));
+            }
+            sleep(config.orderWindow().dividedBy(2).plus(jitter(config.thinkTime())));
+        }
+    }
+
+    private void submitOrder(String qrToken, String body) {
+        client.send(RushClient.SUBMIT_ORDER, "POST", "/public/tables/" + qrToken + "/orders", body,
+                Map.of("Idempotency-Key", UUID.randomUUID().toString()));
+    }
+
+    private void staff(int restaurant) {
+        HttpResponse<String> login = client.send(RushClient.LOGIN, "POST", "/auth/login",
+                "{\"username\":\"staff" + restaurant + "\",\"password\":\"" + PASSWORD + "\"}", Map.of());
+        if (login == null || login.statusCode() != 200) {
+            System.err.println("Staff login failed for restaurant " + restaurant);
+            return;
+        }
+        Map<String, String> auth = Map.of("Authorization", "Bearer " + json.readTree(login.body()).get("token").asString());
+
+        String cursorQuery = "since=" + Instant.now();
+        while (Instant.now().isBefore(deadline)) {
+            boolean hasNext;
+            do {
+                HttpResponse<String> orders = client.get(RushClient.STAFF_ORDERS,
+                        "/staff/orders?mode=cursor&size=50&" + cursorQuery, auth);
+                if (orders == null || orders.statusCode() != 200) {
+                    break;
+                }
+                JsonNode slice = json.readTree(orders.body());
+                for (JsonNode order : slice.get("items")) {
+                    if ("NEW".equals(order.get("status").asString())) {
+                        client.send(RushClient.SENT_TO_KITCHEN, "PATCH",
+                                "/staff/orders/" + order.get("orderId").asLong() + "/sent-to-kitchen", null, auth);
+                    }
+                }
+                cursorQuery = "cursor=" + slice.get("nextCursor").asString();
+                hasNext = slice.get("hasNext").asBoolean();
+            } while (hasNext);
+
+            sleep(config.staffPollInterval());
+        }
+    }
+
+    private List<Long> itemIds(String menuJson) {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : json.readTree(menuJson).get("items")) {
+            ids.add(item.get("id").asLong());
+        }
+        return ids;
+    }
+
+    private String orderBody(List<Long> itemIds) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(6);
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of(
+                    "menuItemId", itemIds.get(random.nextInt(itemIds.size())),
+                    "quantity", 1 + random.nextInt(3)
+            ));
+        }
+        return json.writeValueAsString(Map.of("items", items, "note", "load test"));
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, RushClient client,
+                                              Statistics statistics, double seconds) {
+        Map<String, Object> endpoints = new TreeMap<>();
+        long requests = 0;
+        for (Map.Entry<String, EndpointStats> entry : client.stats().entrySet()) {
+            Map<String, Object> summary = entry.getValue().summarize(seconds);
+            requests += (Long) summary.get("count");
+            endpoints.put(entry.getKey(), summary);
+        }
+
+        Map<String, Object> db = new LinkedHashMap<>();
+        db.put("preparedStatements", statistics.getPrepareStatementCount());
+        db.put("statementsPerRequest", requests == 0 ? 0 : Math.round(statistics.getPrepareStatementCount() * 100.0 / requests) / 100.0);
+        db.put("queryExecutions", statistics.getQueryExecutionCount());
+        db.put("entityInserts", statistics.getEntityInsertCount());
+        db.put("entityUpdates", statistics.getEntityUpdateCount());
+        db.put("transactions", statistics.getTransactionCount());
+        db.put("optimisticFailures", statistics.getOptimisticFailureCount());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().minusMillis((long) (seconds * 1000)).toString());
+        report.put("serverThreads", config.virtualThreads() ? "virtual" : "platform");
+        report.put("config", config.toString());
+        report.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+        report.put("requests", requests);
+        report.put("throughputPerSecond", Math.round(requests / seconds * 10) / 10.0);
+        report.put("endpoints", endpoints);
+        report.put("db", db);
+        return report;
+    }
+
+    private static Duration jitter(Duration base) {
+        long millis = base.toMillis();
+        return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, millis)));
+    }
+
+    /** Sleeps, but never past the end of the run. */
+    private void sleep(Duration duration) {
+        Duration left = Duration.between(Instant.now(), deadline);
+        if (left.isNegative() || left.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.compareTo(left) < 0 ? duration : left);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.restaurantqr.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency samples and status codes of one endpoint.
+ */
+final class EndpointStats {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long[] samples = new long[4096];
+    private int size;
+
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder ioErrors = new LongAdder();
+
+    void record(long nanos, int status) {
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        lock.lock();
+        try {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void recordIoError() {
+        ioErrors.increment();
+    }
+
+    Map<String, Object> summarize(double seconds) {
+        long[] sorted;
+        lock.lock();
+        try {
+            sorted = Arrays.copyOf(samples, size);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((status, count) -> byStatus.put(String.valueOf(status), count.sum()));
+        long count = sorted.length;
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("throughputPerSecond", round(count / seconds));
+        summary.put("p50Ms", millis(percentile(sorted, 0.50)));
+        summary.put("p95Ms", millis(percentile(sorted, 0.95)));
+        summary.put("p99Ms", millis(percentile(sorted, 0.99)));
+        summary.put("maxMs", millis(count == 0 ? 0 : sorted[sorted.length - 1]));
+        summary.put("statuses", byStatus);
+        summary.put("rate429", rate(byStatus.getOrDefault("429", 0L), count));
+        summary.put("rate409", rate(byStatus.getOrDefault("409", 0L), count));
+        summary.put("ioErrors", ioErrors.sum());
+        return summary;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double rate(long part, long total) {
+        return total == 0 ? 0 : round((double) part / total);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
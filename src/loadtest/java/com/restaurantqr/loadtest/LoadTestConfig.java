@@ -0,0 +1,78 @@
+package com.restaurantqr.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test knobs, passed as {@code --name=value} arguments.
+ */
+record LoadTestConfig(
+        int restaurants,
+        int tables,
+        int categories,
+        int items,
+        Duration duration,
+        Duration rampUp,
+        Duration thinkTime,
+        Duration orderWindow,
+        Duration staffPollInterval,
+        double serviceCallRatio,
+        double doubleSubmitRatio,
+        boolean virtualThreads,
+        Path report
+) {
+
+    private static final Set<String> KNOWN_OPTIONS = Set.of(
+            "restaurants", "tables", "categories", "items", "duration", "ramp-up", "think-time",
+            "order-window", "staff-poll-interval", "service-call-ratio", "double-submit-ratio",
+            "virtual-threads", "report");
+
+    static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(values.getOrDefault("restaurants", "5")),
+                Integer.parseInt(values.getOrDefault("tables", "20")),
+                Integer.parseInt(values.getOrDefault("categories", "6")),
+                Integer.parseInt(values.getOrDefault("items", "60")),
+                duration(values.getOrDefault("duration", "120s")),
+                duration(values.getOrDefault("ramp-up", "20s")),
+                duration(values.getOrDefault("think-time", "5s")),
+                duration(values.getOrDefault("order-window", "60s")),
+                duration(values.getOrDefault("staff-poll-interval", "2s")),
+                Double.parseDouble(values.getOrDefault("service-call-ratio", "0.3")),
+                Double.parseDouble(values.getOrDefault("double-submit-ratio", "0.05")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Path.of(values.getOrDefault("report", "target/loadtest-report.json"))
+        );
+        values.keySet().removeAll(KNOWN_OPTIONS);
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return config;
+    }
+
+    /** Accepts {@code 90s}, {@code 2m}, {@code 500ms} or ISO-8601. */
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
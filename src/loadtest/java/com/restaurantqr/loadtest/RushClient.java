@@ -0,0 +1,72 @@
+package com.restaurantqr.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Blocking HTTP calls against the app under test; every call is timed under its endpoint name.
+ */
+final class RushClient {
+
+    static final String MENU = "GET /public/tables/{qrToken}/menu";
+    static final String SUBMIT_ORDER = "POST /public/tables/{qrToken}/orders";
+    static final String SERVICE_CALL = "POST /public/tables/{qrToken}/service-calls";
+    static final String LOGIN = "POST /auth/login";
+    static final String STAFF_ORDERS = "GET /staff/orders";
+    static final String SENT_TO_KITCHEN = "PATCH /staff/orders/{orderId}/sent-to-kitchen";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final ConcurrentMap<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    RushClient(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    HttpResponse<String> get(String endpoint, String path, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        headers.forEach(request::header);
+        return send(endpoint, request);
+    }
+
+    HttpResponse<String> send(String endpoint, String method, String path, String jsonBody, Map<String, String> headers) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, jsonBody == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(jsonBody));
+        headers.forEach(request::header);
+        return send(endpoint, request);
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, e -> new EndpointStats());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.timeout(REQUEST_TIMEOUT).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            endpointStats.recordIoError();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
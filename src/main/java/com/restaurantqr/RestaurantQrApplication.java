@@ -4,10 +4,12 @@ package com.restaurantqr;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @SpringBootApplication
 @ConfigurationPropertiesScan
+@EnableScheduling
 public class RestaurantQrApplication {
 
 	public static void main(String[] args) {
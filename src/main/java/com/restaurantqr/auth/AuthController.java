@@ -3,12 +3,16 @@ package com.restaurantqr.auth;
 
 import com.restaurantqr.auth.dto.LoginRequest;
 import com.restaurantqr.auth.dto.LoginResponse;
+import com.restaurantqr.auth.dto.RefreshTokenRequest;
 import com.restaurantqr.exception.ApiErrorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.*;
 import io.swagger.v3.oas.annotations.responses.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,6 +36,9 @@ public class AuthController {
                     The token contains claims: `userId`, `role`, `restaurantId`.
                     
                     Frontend must send the token in: `Authorization: Bearer <token>` for protected endpoints.
+                    
+                    The access token is short-lived (`expiresIn` seconds); use `refreshToken` with
+                    `POST /api/v1/auth/refresh` to get a new pair.
                     """
     )
     @ApiResponses({
@@ -39,13 +46,60 @@ public class AuthController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = LoginResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many login attempts (per IP / per username)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Password verification pool saturated, retry shortly",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @PostMapping("/login")
-    public LoginResponse login(@Valid @RequestBody LoginRequest request) {
-        return authService.login(request);
+    public LoginResponse login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // the client address, also behind the load balancer (server.forward-headers-strategy in prod)
+        return authService.login(request, httpRequest.getRemoteAddr());
     }
-}
 
+    @Operation(
+            summary = "Exchange a refresh token for a new access/refresh token pair",
+            description = """
+                    Refresh tokens are single use: the presented token is revoked and a new one is returned.
+                    
+                    Presenting a token that was already used revokes the whole session (all tokens rotated
+                    from the same login) and the user's current access tokens.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "New token pair",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = LoginResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unknown, expired, revoked or reused refresh token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/refresh")
+    public LoginResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request.refreshToken());
+    }
 
+    @Operation(
+            summary = "Logout",
+            description = """
+                    Revokes the refresh token's session. If an `Authorization: Bearer <token>` header is sent,
+                    that access token is revoked too.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Logged out")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request,
+                                       Authentication authentication) {
+        VerifiedToken accessToken = authentication != null && authentication.getDetails() instanceof VerifiedToken v
+                ? v
+                : null;
+        authService.logout(request.refreshToken(), accessToken);
+        return ResponseEntity.noContent().build();
+    }
+}
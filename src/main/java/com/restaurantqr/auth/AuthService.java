@@ -4,6 +4,9 @@ package com.restaurantqr.auth;
 import com.restaurantqr.auth.dto.LoginRequest;
 import com.restaurantqr.auth.dto.LoginResponse;
 import com.restaurantqr.exception.InvalidCredentialsException;
+import com.restaurantqr.exception.RateLimitException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -15,15 +18,37 @@ import org.springframework.stereotype.Service;
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final AuthenticationManager authManager;
-    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final UnknownUsernameCache unknownUsernames;
+    private final TokenRevocationList revocationList;
 
-    public AuthService(AuthenticationManager authManager, JwtService jwtService) {
+    public AuthService(AuthenticationManager authManager,
+                       RefreshTokenService refreshTokenService,
+                       LoginThrottle loginThrottle,
+                       UnknownUsernameCache unknownUsernames,
+                       TokenRevocationList revocationList) {
         this.authManager = authManager;
-        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.loginThrottle = loginThrottle;
+        this.unknownUsernames = unknownUsernames;
+        this.revocationList = revocationList;
     }
 
-    public LoginResponse login(LoginRequest req) {
+    public LoginResponse login(LoginRequest req, String clientIp) {
+        // throttle before any DB lookup or password hashing
+        if (!loginThrottle.tryAttempt(clientIp, req.username())) {
+            log.warn("Login throttled. username={}, clientIp={}", req.username(), clientIp);
+            throw new RateLimitException("Too many login attempts, please wait and retry");
+        }
+        if (unknownUsernames.isUnknown(req.username())) {
+            loginThrottle.onFailure(req.username());
+            throw new InvalidCredentialsException("wrong username/password");
+        }
+
         try {
             Authentication auth = authManager.authenticate(
                     new UsernamePasswordAuthenticationToken(req.username(), req.password())
@@ -32,22 +57,34 @@ public class AuthService {
             var details = (DbUserDetails) auth.getPrincipal();
             var user = details.getDomainUser();
 
-            String token = jwtService.generateToken(
-                    user.getId(),
-                    user.getRole().name(),
-                    user.getRestaurant().getId()
-            );
+            LoginResponse response = refreshTokenService.issue(user);
 
-            return new LoginResponse(token, user.getRole().name(), user.getRestaurant().getId(), user.getId());
+            loginThrottle.onSuccess(req.username());
+            return response;
 
         } catch (BadCredentialsException ex) {
+            loginThrottle.onFailure(req.username());
             // username أو password غلط (الرسالة تكون عامة)
             throw new InvalidCredentialsException("wrong username/password");
 
         } catch (AuthenticationException ex) {
+            loginThrottle.onFailure(req.username());
             // أي فشل auth آخر لا نريد يطلع 500 للمستخدم
             throw new InvalidCredentialsException("wrong username/password");
         }
     }
-}
 
+    public LoginResponse refresh(String refreshToken) {
+        return refreshTokenService.refresh(refreshToken);
+    }
+
+    /**
+     * Revokes the refresh token's session and, when the caller sent one, the current access token.
+     */
+    public void logout(String refreshToken, VerifiedToken accessToken) {
+        refreshTokenService.revokeFamily(refreshToken);
+        if (accessToken != null) {
+            revocationList.revoke(accessToken);
+        }
+    }
+}
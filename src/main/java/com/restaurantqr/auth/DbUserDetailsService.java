@@ -9,15 +9,20 @@ import org.springframework.stereotype.Service;
 @Service
 public class DbUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UnknownUsernameCache unknownUsernames;
 
-    public DbUserDetailsService(UserRepository userRepository) {
+    public DbUserDetailsService(UserRepository userRepository, UnknownUsernameCache unknownUsernames) {
         this.userRepository = userRepository;
+        this.unknownUsernames = unknownUsernames;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         var user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Invalid credentials"));
+                .orElseThrow(() -> {
+                    unknownUsernames.remember(username);
+                    return new UsernameNotFoundException("Invalid credentials");
+                });
         return new DbUserDetails(user);
     }
 
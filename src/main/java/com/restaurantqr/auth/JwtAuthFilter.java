@@ -1,28 +1,27 @@
 package com.restaurantqr.auth;
 
-import com.restaurantqr.auth.dto.AuthPrincipal;
-import io.jsonwebtoken.Claims;
+import com.restaurantqr.logging.RequestLogContext;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationList revocationList;
 
-    public JwtAuthFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    public JwtAuthFilter(VerifiedTokenCache tokenCache, TokenRevocationList revocationList) {
+        this.tokenCache = tokenCache;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -38,24 +37,25 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = header.substring(7);
         try {
-            var jws = jwtService.parse(token);
-            Claims claims = jws.getPayload();
-
-            String userIdStr = claims.getSubject();
-            Long userId = Long.valueOf(userIdStr);
-            String role = claims.get("role", String.class);
-            Long restaurantId = claims.get("restaurantId", Long.class);
-
-            var principal = new AuthPrincipal(userId, role, restaurantId);
+            // verified once per token, then served from the cache until exp
+            VerifiedToken verified = tokenCache.verify(token);
+            if (revocationList.isRevoked(verified)) {
+                SecurityContextHolder.clearContext();
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             var auth = new UsernamePasswordAuthenticationToken(
-                    principal,
+                    verified.principal(),
                     null,
-                    List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                    verified.authorities()
             );
+            // kept for logout, which revokes this exact token
+            auth.setDetails(verified);
             SecurityContextHolder.getContext().setAuthentication(auth);
+            RequestLogContext.putRestaurant(verified.principal().restaurantId());
 
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             SecurityContextHolder.clearContext();
         }
 
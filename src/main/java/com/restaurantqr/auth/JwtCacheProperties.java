@@ -0,0 +1,11 @@
+package com.restaurantqr.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.jwt.cache")
+public record JwtCacheProperties(
+        long maxSize,
+        Duration maxTtl
+) {}
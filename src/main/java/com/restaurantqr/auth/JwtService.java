@@ -3,6 +3,7 @@ package com.restaurantqr.auth;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
@@ -12,12 +13,15 @@ import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
     private final JwtProperties props;
     private final Key key;
+    // immutable and thread-safe: built once instead of per request
+    private final JwtParser parser;
 
     public JwtService(JwtProperties props) {
         if (props.secret() == null || props.secret().isBlank()) {
@@ -29,13 +33,19 @@ public class JwtService {
 
         this.props = props;
         this.key = Keys.hmacShaKeyFor(props.secret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith((javax.crypto.SecretKey) key)
+                .requireIssuer(props.issuer())
+                .build();
     }
 
     public String generateToken(Long userId, String role, Long restaurantId) {
         Instant now = Instant.now();
-        Instant exp = now.plusSeconds(props.expirationMinutes() * 60);
+        Instant exp = now.plusSeconds(expiresInSeconds());
 
         return Jwts.builder()
+                // jti: lets a single access token be revoked (logout)
+                .id(UUID.randomUUID().toString())
                 .issuer(props.issuer())
                 .subject(String.valueOf(userId))
                 .issuedAt(Date.from(now))
@@ -48,12 +58,12 @@ public class JwtService {
                 .compact();
     }
 
+    public long expiresInSeconds() {
+        return props.expirationMinutes() * 60;
+    }
+
     public Jws<Claims> parse(String token) throws JwtException {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) key)
-                .requireIssuer(props.issuer())
-                .build()
-                .parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
     }
 }
 
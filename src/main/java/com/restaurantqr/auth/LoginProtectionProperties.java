@@ -0,0 +1,18 @@
+package com.restaurantqr.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.auth.login")
+public record LoginProtectionProperties(
+        int hashThreads,
+        int hashQueueCapacity,
+        Duration hashTimeout,
+        int maxFailuresPerUsername,
+        Duration usernameWindow,
+        int maxAttemptsPerIp,
+        Duration ipWindow,
+        Duration unknownUsernameTtl,
+        long maxTrackedKeys
+) {}
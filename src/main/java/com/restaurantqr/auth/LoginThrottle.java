@@ -0,0 +1,53 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.ratelimit.SlidingWindowLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory login throttle in front of the AuthenticationManager.
+ *
+ * - per client IP: every attempt counts ({@code max-attempts-per-ip} per {@code ip-window})
+ * - per username: only failed attempts count ({@code max-failures-per-username} per {@code username-window}),
+ *   a successful login clears them
+ */
+@Component
+public class LoginThrottle {
+
+    private final SlidingWindowLimiter attemptsByIp;
+    private final SlidingWindowLimiter failuresByUsername;
+    private final Counter throttled;
+
+    public LoginThrottle(LoginProtectionProperties props, MeterRegistry meterRegistry) {
+        this.attemptsByIp = new SlidingWindowLimiter(props.maxAttemptsPerIp(), props.ipWindow(), props.maxTrackedKeys());
+        this.failuresByUsername = new SlidingWindowLimiter(props.maxFailuresPerUsername(), props.usernameWindow(),
+                props.maxTrackedKeys());
+        this.throttled = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the per-IP / per-username throttle")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return false when this attempt must be rejected
+     */
+    public boolean tryAttempt(String clientIp, String username) {
+        if (!attemptsByIp.tryAcquire(clientIp) || failuresByUsername.isLimited(key(username))) {
+            throttled.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void onFailure(String username) {
+        failuresByUsername.record(key(username));
+    }
+
+    public void onSuccess(String username) {
+        failuresByUsername.reset(key(username));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase();
+    }
+}
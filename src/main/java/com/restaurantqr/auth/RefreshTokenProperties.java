@@ -0,0 +1,10 @@
+package com.restaurantqr.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.jwt.refresh")
+public record RefreshTokenProperties(
+        Duration ttl
+) {}
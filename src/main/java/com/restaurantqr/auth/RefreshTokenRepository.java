@@ -0,0 +1,56 @@
+package com.restaurantqr.auth;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("""
+        select rt
+        from RefreshToken rt
+        join fetch rt.user u
+        join fetch u.restaurant
+        where rt.tokenHash = :tokenHash
+    """)
+    Optional<RefreshToken> findByTokenHashWithUser(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Query("""
+        update RefreshToken rt
+        set rt.revokedAt = :now
+        where rt.id = :id
+          and rt.revokedAt is null
+    """)
+    int markRotated(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying
+    @Query("update RefreshToken rt set rt.replacedById = :replacedById where rt.id = :id")
+    int setReplacedBy(@Param("id") Long id, @Param("replacedById") Long replacedById);
+
+    @Modifying
+    @Query("""
+        update RefreshToken rt
+        set rt.revokedAt = :now
+        where rt.familyId = :familyId
+          and rt.revokedAt is null
+    """)
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+        update RefreshToken rt
+        set rt.revokedAt = :now
+        where rt.user.id = :userId
+          and rt.revokedAt is null
+    """)
+    int revokeAllForUser(@Param("userId") Long userId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from RefreshToken rt where rt.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
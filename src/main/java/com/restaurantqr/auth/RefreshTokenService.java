@@ -0,0 +1,135 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.auth.dto.LoginResponse;
+import com.restaurantqr.exception.InvalidCredentialsException;
+import com.restaurantqr.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, rotating refresh tokens. Only the SHA-256 of a token is stored; every refresh
+ * revokes the presented token and issues a new one in the same family. Presenting an
+ * already rotated token means it leaked, so the whole family and the user's current
+ * access tokens are revoked.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final TokenRevocationList revocationList;
+    private final RefreshTokenProperties props;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtService jwtService,
+                               TokenRevocationList revocationList,
+                               RefreshTokenProperties props) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.revocationList = revocationList;
+        this.props = props;
+    }
+
+    @Transactional
+    public LoginResponse issue(User user) {
+        String refreshToken = newToken(user, UUID.randomUUID().toString()).raw();
+        return toResponse(user, refreshToken);
+    }
+
+    // the revocations on reuse must survive the 401
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public LoginResponse refresh(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .orElseThrow(() -> new InvalidCredentialsException("invalid refresh token"));
+        User user = current.getUser();
+        Instant now = Instant.now();
+
+        // conditional update: of two concurrent refreshes with the same token only one wins
+        if (current.getRevokedAt() != null || refreshTokenRepository.markRotated(current.getId(), now) == 0) {
+            int revoked = refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            revocationList.revokeUser(user.getId());
+            log.warn("Refresh token reuse detected, family revoked. userId={}, familyId={}, revoked={}",
+                    user.getId(), current.getFamilyId(), revoked);
+            throw new InvalidCredentialsException("invalid refresh token");
+        }
+        if (current.getExpiresAt().isBefore(now) || !user.isActive()) {
+            throw new InvalidCredentialsException("invalid refresh token");
+        }
+
+        IssuedRefreshToken next = newToken(user, current.getFamilyId());
+        refreshTokenRepository.setReplacedBy(current.getId(), next.entity().getId());
+        return toResponse(user, next.raw());
+    }
+
+    /**
+     * Ends the session the refresh token belongs to. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        int revoked = refreshTokenRepository.revokeAllForUser(userId, Instant.now());
+        revocationList.revokeUser(userId);
+        return revoked;
+    }
+
+    @Scheduled(fixedDelay = 3_600_000)
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("Expired refresh tokens deleted. count={}", deleted);
+        }
+    }
+
+    private IssuedRefreshToken newToken(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = TOKEN_ENCODER.encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setUser(user);
+        token.setTokenHash(hash(raw));
+        token.setFamilyId(familyId);
+        token.setExpiresAt(Instant.now().plus(props.ttl()));
+        return new IssuedRefreshToken(raw, refreshTokenRepository.save(token));
+    }
+
+    private LoginResponse toResponse(User user, String refreshToken) {
+        Long restaurantId = user.getRestaurant().getId();
+        String accessToken = jwtService.generateToken(user.getId(), user.getRole().name(), restaurantId);
+        return new LoginResponse(accessToken, jwtService.expiresInSeconds(), refreshToken,
+                user.getRole().name(), restaurantId, user.getId());
+    }
+
+    private static String hash(String raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record IssuedRefreshToken(String raw, RefreshToken entity) {}
+}
@@ -0,0 +1,74 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import com.restaurantqr.config.OpenApiConfig;
+import com.restaurantqr.exception.ApiErrorResponse;
+import com.restaurantqr.exception.ResourceNotFoundException;
+import com.restaurantqr.user.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+@Tag(name = "Manager - Sessions", description = "Manager endpoints (JWT with MANAGER role required)")
+@RestController
+@RequestMapping("/api/v1/manager")
+public class SessionManagerController {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionManagerController.class);
+
+    private final UserRepository userRepository;
+    private final RefreshTokenService refreshTokenService;
+
+    public SessionManagerController(UserRepository userRepository, RefreshTokenService refreshTokenService) {
+        this.userRepository = userRepository;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @Operation(
+            summary = "Revoke all sessions of a user",
+            description = """
+                Revokes every refresh token of the user and rejects their current access tokens immediately.
+                The user has to log in again.
+
+                **Restaurant isolation**
+                - Only users of the manager's restaurant can be revoked.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Sessions revoked"),
+            @ApiResponse(responseCode = "403", description = "Forbidden (wrong role)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "User not found in this restaurant",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PostMapping("/users/{userId}/sessions/revoke")
+    public ResponseEntity<Void> revokeSessions(Authentication authentication, @PathVariable Long userId) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+
+        var user = userRepository.findById(userId)
+                .filter(u -> Objects.equals(u.getRestaurant().getId(), principal.restaurantId()))
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        int revoked = refreshTokenService.revokeAllForUser(user.getId());
+        log.info("Sessions revoked by manager. managerId={}, userId={}, refreshTokens={}",
+                principal.userId(), user.getId(), revoked);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,100 @@
+package com.restaurantqr.auth;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revoked access tokens, checked on every authenticated request.
+ *
+ * Single tokens (logout) go into a Bloom filter backed by an exact jti set, so the common
+ * "not revoked" answer never touches the map. Whole users (session revoke, refresh reuse)
+ * are a "revoked before" cutoff compared against {@code iat}. Entries are only kept until
+ * the access tokens they cover have expired anyway, which keeps both structures small.
+ *
+ * This is per JVM, like the other in-memory guards: with several instances a revocation only
+ * applies where it was made, bounded by the short access-token lifetime.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationProperties props;
+    private final Duration accessTokenTtl;
+
+    // jti -> exp of the revoked token
+    private final ConcurrentMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> tokens issued at or before this instant are revoked
+    private final ConcurrentMap<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    public TokenRevocationList(TokenRevocationProperties props, JwtProperties jwtProps, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.accessTokenTtl = Duration.ofMinutes(jwtProps.expirationMinutes());
+        this.filter = new BloomFilter(props.expectedEntries(), props.falsePositiveRate());
+
+        Gauge.builder("auth.revoked.tokens", revokedTokens, ConcurrentMap::size)
+                .description("Revoked access tokens not yet expired")
+                .register(meterRegistry);
+        Gauge.builder("auth.revoked.users", revokedBefore, ConcurrentMap::size)
+                .description("Users with a session revocation cutoff")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (!revokedBefore.isEmpty()) {
+            Instant cutoff = revokedBefore.get(token.principal().userId());
+            if (cutoff != null && !token.issuedAt().isAfter(cutoff)) {
+                return true;
+            }
+        }
+        return token.tokenId() != null
+                && filter.mightContain(token.tokenId())
+                && revokedTokens.containsKey(token.tokenId());
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            return;
+        }
+        revokedTokens.put(token.tokenId(), token.expiresAt());
+        filter.add(token.tokenId());
+    }
+
+    /**
+     * Revokes every access token the user holds right now. {@code iat} has second precision,
+     * so the cutoff is the current second.
+     */
+    public void revokeUser(Long userId) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        revokedBefore.merge(userId, cutoff, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        boolean removedTokens = revokedTokens.values().removeIf(exp -> exp.isBefore(now));
+        revokedBefore.values().removeIf(cutoff -> cutoff.plus(accessTokenTtl).isBefore(now));
+
+        if (removedTokens) {
+            // bits cannot be cleared: rebuild from what is left and swap
+            BloomFilter rebuilt = new BloomFilter(
+                    Math.max(props.expectedEntries(), revokedTokens.size()), props.falsePositiveRate());
+            revokedTokens.keySet().forEach(rebuilt::add);
+            filter = rebuilt;
+            // a revoke racing the swap may have missed the new filter
+            revokedTokens.keySet().forEach(rebuilt::add);
+            log.debug("Revocation filter rebuilt. entries={}", revokedTokens.size());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.restaurantqr.auth;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.jwt.revocation")
+public record TokenRevocationProperties(
+        int expectedEntries,
+        double falsePositiveRate
+) {}
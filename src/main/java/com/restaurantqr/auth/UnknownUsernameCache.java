@@ -0,0 +1,42 @@
+package com.restaurantqr.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restaurantqr.user.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Usernames recently looked up without a match; logins for them fail before any DB query or hashing.
+ * Entries expire after {@code app.auth.login.unknown-username-ttl}. Creating or renaming a user drops its
+ * entry on this instance; other instances let the new user in at the latest after that time.
+ */
+@Component
+public class UnknownUsernameCache {
+
+    private final Cache<String, Boolean> unknown;
+
+    public UnknownUsernameCache(LoginProtectionProperties props) {
+        this.unknown = Caffeine.newBuilder()
+                .maximumSize(props.maxTrackedKeys())
+                .expireAfterWrite(props.unknownUsernameTtl())
+                .build();
+    }
+
+    public boolean isUnknown(String username) {
+        return unknown.getIfPresent(username) != null;
+    }
+
+    public void remember(String username) {
+        unknown.put(username, Boolean.TRUE);
+    }
+
+    public void forget(String username) {
+        unknown.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        forget(event.username());
+    }
+}
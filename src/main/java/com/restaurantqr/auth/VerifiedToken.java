@@ -0,0 +1,18 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a successful JWT verification, reusable until {@code expiresAt}.
+ */
+public record VerifiedToken(
+        AuthPrincipal principal,
+        List<GrantedAuthority> authorities,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {}
@@ -0,0 +1,103 @@
+package com.restaurantqr.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import com.restaurantqr.user.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Verified JWTs keyed by the SHA-256 of the token, so a polling dashboard pays the HMAC check
+ * and claim decoding once per token instead of once per request.
+ *
+ * An entry never outlives the token's {@code exp} (nor {@code app.jwt.cache.max-ttl}).
+ * Invalid tokens are not cached and are verified every time. Revocation is checked by the
+ * caller on every request, cached or not.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // one immutable authority list per role instead of a new list per request
+    private static final Map<String, List<GrantedAuthority>> ROLE_AUTHORITIES = Stream.of(Role.values())
+            .collect(Collectors.toUnmodifiableMap(Role::name,
+                    role -> List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+
+    private final JwtService jwtService;
+    private final Cache<String, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtService jwtService, JwtCacheProperties props, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(props.maxSize())
+                .expireAfter(Expiry.creating((String key, VerifiedToken token) -> {
+                    Duration untilExp = Duration.between(Instant.now(), token.expiresAt());
+                    return untilExp.compareTo(props.maxTtl()) < 0 ? untilExp : props.maxTtl();
+                }))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified");
+    }
+
+    /**
+     * @throws JwtException when the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) throws JwtException {
+        String key = key(token);
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        VerifiedToken verified = toVerified(jwtService.parse(token).getPayload());
+        if (verified.expiresAt().isAfter(Instant.now())) {
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    private static VerifiedToken toVerified(Claims claims) {
+        Long userId = Long.valueOf(claims.getSubject());
+        String role = claims.get("role", String.class);
+        Long restaurantId = claims.get("restaurantId", Long.class);
+
+        List<GrantedAuthority> authorities = ROLE_AUTHORITIES.get(role);
+        if (authorities == null) {
+            authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        }
+
+        Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : Instant.EPOCH;
+        return new VerifiedToken(new AuthPrincipal(userId, role, restaurantId), authorities,
+                claims.getId(), issuedAt, claims.getExpiration().toInstant());
+    }
+
+    private static String key(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return KEY_ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -4,9 +4,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Login response containing JWT and user context")
 public record LoginResponse(
-        @Schema(description = "JWT token", example = "eyJhbGciOiJIUzM4NCJ9...")
+        @Schema(description = "Short-lived JWT access token", example = "eyJhbGciOiJIUzM4NCJ9...")
         String token,
 
+        @Schema(description = "Seconds until the access token expires", example = "900")
+        long expiresIn,
+
+        @Schema(description = "Opaque refresh token, single use (rotated on every refresh)",
+                example = "q3Jx0b1mB8Yt2c5bW0mYxv9QkR2Zp4nH7sLqUe1aF6g")
+        String refreshToken,
+
         @Schema(description = "User role", example = "MANAGER")
         String role,
 
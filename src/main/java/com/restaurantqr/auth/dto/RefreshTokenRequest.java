@@ -0,0 +1,13 @@
+package com.restaurantqr.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Refresh token issued by login or a previous refresh")
+public record RefreshTokenRequest(
+        @NotBlank(message = "refreshToken is required")
+        @Size(max = 100, message = "refreshToken is too long")
+        @Schema(example = "q3Jx0b1mB8Yt2c5bW0mYxv9QkR2Zp4nH7sLqUe1aF6g")
+        String refreshToken
+) {}
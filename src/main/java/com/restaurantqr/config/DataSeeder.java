@@ -17,12 +17,17 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class DataSeeder {
 
+    private static final String DEMO_PASSWORD = "123456";
+
     @Bean
     CommandLineRunner seedData(
+            SeedProperties seed,
             RestaurantRepository restaurantRepository,
             UserRepository userRepository,
             RestaurantTableRepository tableRepository,
@@ -37,76 +42,104 @@ public class DataSeeder {
                 return;
             }
 
-            // 1) Restaurant
-            Restaurant restaurant = new Restaurant();
-            restaurant.setName("Demo Restaurant");
-            restaurant.setCode("DEMO");
-            restaurant.setActive(true);
-            restaurantRepository.save(restaurant);
-
-            // 2) Users
-            User manager = new User();
-            manager.setUsername("manager1");
-            manager.setPasswordHash(passwordEncoder.encode("123456"));
-            manager.setRole(Role.MANAGER);
-            manager.setRestaurant(restaurant);
-            manager.setActive(true);
-            userRepository.save(manager);
-
-            User staff = new User();
-            staff.setUsername("staff1");
-            staff.setPasswordHash(passwordEncoder.encode("123456"));
-            staff.setRole(Role.STAFF);
-            staff.setRestaurant(restaurant);
-            staff.setActive(true);
-            userRepository.save(staff);
-
-            // 3) Table
-            // ✅ ثابت للتجربة: ستستخدمه في endpoint /public/tables/{qrToken}/menu
-            String demoQrToken = "DEMO-TABLE-1";
-
-            RestaurantTable table = new RestaurantTable();
-            table.setRestaurant(restaurant);
-            table.setTableNumber(1);
-            table.setQrToken(demoQrToken);
-            table.setActive(true);
-            tableRepository.save(table);
-
-            // 4) Category
-            MenuCategory drinks = new MenuCategory();
-            drinks.setRestaurant(restaurant);
-            drinks.setName("Drinks");
-            drinks.setDisplayOrder(1);
-            drinks.setActive(true);
-            categoryRepository.save(drinks);
-
-            // 5) Items
-            MenuItem cola = new MenuItem();
-            cola.setRestaurant(restaurant);
-            cola.setCategory(drinks);
-            cola.setName("Cola");
-            cola.setDescription("Cold cola can");
-            cola.setPrice(new BigDecimal("2.50"));
-            cola.setAvailable(true);
-            cola.setActive(true);
-            cola.setDisplayOrder(1);
-            itemRepository.save(cola);
-
-            MenuItem water = new MenuItem();
-            water.setRestaurant(restaurant);
-            water.setCategory(drinks);
-            water.setName("Water");
-            water.setDescription("Still water bottle");
-            water.setPrice(new BigDecimal("1.50"));
-            water.setAvailable(false); // ❌ غير متوفر (لن يظهر للزبون)
-            water.setActive(true);
-            water.setDisplayOrder(2);
-            itemRepository.save(water);
-
-            System.out.println("✅ Seeded Restaurant + Users + Table + Menu");
-            System.out.println("➡ MANAGER login: manager1 / 123456");
-            System.out.println("➡ STAFF   login: staff1   / 123456");
-            System.out.println("➡ Demo Table QR Token: " + demoQrToken);
+            // one hash for every seeded user (BCrypt is deliberately slow)
+            String passwordHash = passwordEncoder.encode(DEMO_PASSWORD);
+
+            for (int r = 1; r <= Math.max(1, seed.restaurants()); r++) {
+                boolean demo = r == 1;
+                String code = demo ? "DEMO" : "LOAD" + r;
+
+                // 1) Restaurant
+                Restaurant restaurant = new Restaurant();
+                restaurant.setName(demo ? "Demo Restaurant" : "Load Restaurant " + r);
+                restaurant.setCode(code);
+                restaurant.setActive(true);
+                restaurantRepository.save(restaurant);
+
+                // 2) Users: manager{r} / staff{r}
+                User manager = new User();
+                manager.setUsername("manager" + r);
+                manager.setPasswordHash(passwordHash);
+                manager.setRole(Role.MANAGER);
+                manager.setRestaurant(restaurant);
+                manager.setActive(true);
+
+                User staff = new User();
+                staff.setUsername("staff" + r);
+                staff.setPasswordHash(passwordHash);
+                staff.setRole(Role.STAFF);
+                staff.setRestaurant(restaurant);
+                staff.setActive(true);
+                userRepository.saveAll(List.of(manager, staff));
+
+                // 3) Tables
+                // ✅ ثابت للتجربة: ستستخدمه في endpoint /public/tables/{qrToken}/menu
+                List<RestaurantTable> tables = new ArrayList<>();
+                for (int t = 1; t <= Math.max(1, seed.tablesPerRestaurant()); t++) {
+                    RestaurantTable table = new RestaurantTable();
+                    table.setRestaurant(restaurant);
+                    table.setTableNumber(t);
+                    table.setQrToken(code + "-TABLE-" + t);
+                    table.setActive(true);
+                    tables.add(table);
+                }
+                tableRepository.saveAll(tables);
+
+                // 4) Categories
+                List<MenuCategory> categories = new ArrayList<>();
+                for (int c = 1; c <= Math.max(1, seed.categoriesPerRestaurant()); c++) {
+                    MenuCategory category = new MenuCategory();
+                    category.setRestaurant(restaurant);
+                    category.setName(c == 1 ? "Drinks" : "Category " + c);
+                    category.setDisplayOrder(c);
+                    category.setActive(true);
+                    categories.add(category);
+                }
+                categoryRepository.saveAll(categories);
+
+                // 5) Items
+                List<MenuItem> items = new ArrayList<>();
+                MenuItem cola = new MenuItem();
+                cola.setRestaurant(restaurant);
+                cola.setCategory(categories.get(0));
+                cola.setName("Cola");
+                cola.setDescription("Cold cola can");
+                cola.setPrice(new BigDecimal("2.50"));
+                cola.setAvailable(true);
+                cola.setActive(true);
+                cola.setDisplayOrder(1);
+                items.add(cola);
+
+                MenuItem water = new MenuItem();
+                water.setRestaurant(restaurant);
+                water.setCategory(categories.get(0));
+                water.setName("Water");
+                water.setDescription("Still water bottle");
+                water.setPrice(new BigDecimal("1.50"));
+                water.setAvailable(false); // ❌ غير متوفر (لن يظهر للزبون)
+                water.setActive(true);
+                water.setDisplayOrder(2);
+                items.add(water);
+
+                for (int i = items.size() + 1; i <= seed.itemsPerRestaurant(); i++) {
+                    MenuItem item = new MenuItem();
+                    item.setRestaurant(restaurant);
+                    item.setCategory(categories.get(i % categories.size()));
+                    item.setName("Dish " + i);
+                    item.setDescription("Generated dish " + i);
+                    item.setPrice(BigDecimal.valueOf(300 + (i * 173L) % 2200, 2));
+                    item.setAvailable(true);
+                    item.setActive(true);
+                    item.setDisplayOrder(i);
+                    items.add(item);
+                }
+                itemRepository.saveAll(items);
+            }
+
+            System.out.println("✅ Seeded " + Math.max(1, seed.restaurants()) + " restaurant(s) + Users + Tables + Menu");
+            System.out.println("➡ MANAGER login: manager1 / " + DEMO_PASSWORD);
+            System.out.println("➡ STAFF   login: staff1   / " + DEMO_PASSWORD);
+            System.out.println("➡ Demo Table QR Token: DEMO-TABLE-1");
         };
     }
 }
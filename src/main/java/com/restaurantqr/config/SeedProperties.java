@@ -0,0 +1,15 @@
+package com.restaurantqr.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Size of the demo data created by {@link DataSeeder} (dev profile).
+ * Defaults give the single demo restaurant; the load test raises them.
+ */
+@ConfigurationProperties(prefix = "app.seed")
+public record SeedProperties(
+        int restaurants,
+        int tablesPerRestaurant,
+        int categoriesPerRestaurant,
+        int itemsPerRestaurant
+) {}
@@ -0,0 +1,52 @@
+package com.restaurantqr.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the auto-configured DataSource in a {@link LazyConnectionDataSourceProxy}: the physical connection is
+ * only fetched on the first statement, after the transaction manager has marked it read-only, and read-only
+ * connections come from the {@link ReplicaRouter}. Read-write transactions, Flyway and Hibernate's bootstrap
+ * keep using the primary pool unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReplicaRouter> router) {
+        return new ReadReplicaPostProcessor(router);
+    }
+
+    static final class ReadReplicaPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReplicaRouter> router;
+
+        private ReadReplicaPostProcessor(ObjectProvider<ReplicaRouter> router) {
+            this.router = router;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                return bean;
+            }
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+            proxy.setReadOnlyDataSource(router.getObject().readOnlyDataSource(primary));
+            return proxy;
+        }
+
+        // outermost: wraps the workload pools when they are enabled too
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
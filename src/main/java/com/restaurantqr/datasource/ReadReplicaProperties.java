@@ -0,0 +1,30 @@
+package com.restaurantqr.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for {@code @Transactional(readOnly = true)} work.
+ *
+ * {@code lagQuery} returns the replica lag in seconds, either as its only column or as
+ * {@code Seconds_Behind_Source} ({@code SHOW REPLICA STATUS}); NULL or an error marks the replica down.
+ */
+@ConfigurationProperties(prefix = "app.datasource.read-replicas")
+public record ReadReplicaProperties(
+        boolean enabled,
+        List<Replica> replicas,
+        Duration maxLag,
+        Duration checkInterval,
+        String lagQuery,
+        Duration stickiness
+) {
+    public record Replica(
+            String name,
+            String url,
+            String username,
+            String password,
+            int maxPoolSize
+    ) {}
+}
@@ -0,0 +1,45 @@
+package com.restaurantqr.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Users who wrote within the last {@code app.datasource.read-replicas.stickiness}: their reads stay on the
+ * primary so they never see a replica that has not caught up with their own change yet.
+ * Per instance; a user whose next request lands on another instance may still read from a replica.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadYourWrites {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(ReadReplicaProperties props) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(props.stickiness())
+                .maximumSize(100_000)
+                .build();
+    }
+
+    public void markWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky() {
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthPrincipal principal ? principal.userId() : null;
+    }
+}
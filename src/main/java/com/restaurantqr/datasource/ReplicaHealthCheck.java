@@ -0,0 +1,40 @@
+package com.restaurantqr.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures replica lag every {@code check-interval} and exposes {@code datasource.replica.lag},
+ * {@code datasource.replica.up} and {@code datasource.replica.fallbacks}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReplicaHealthCheck {
+
+    private final ReplicaRouter router;
+
+    public ReplicaHealthCheck(ReplicaRouter router, MeterRegistry meterRegistry) {
+        this.router = router;
+        for (ReplicaRouter.ReplicaNode replica : router.replicas()) {
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.up", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        FunctionCounter.builder("datasource.replica.fallbacks", router, ReplicaRouter::fallbackCount)
+                .description("Read-only connections served by the primary because no replica was usable")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.check-interval}")
+    public void check() {
+        router.checkReplicas();
+    }
+}
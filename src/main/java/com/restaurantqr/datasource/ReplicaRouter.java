@@ -0,0 +1,159 @@
+package com.restaurantqr.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Owns the replica pools and picks one per read-only connection: round robin over replicas that are
+ * up and within {@code max-lag}, the primary when none is, or when the current user has just written.
+ *
+ * Deliberately not a {@link DataSource} bean, so Spring Boot's primary DataSource auto-configuration stays in place.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReplicaRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+
+    private final ReadReplicaProperties props;
+    private final ReadYourWrites readYourWrites;
+    private final List<ReplicaNode> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaRouter(ReadReplicaProperties props, ReadYourWrites readYourWrites) {
+        this.props = props;
+        this.readYourWrites = readYourWrites;
+        this.replicas = props.replicas().stream().map(ReplicaNode::new).toList();
+    }
+
+    /**
+     * Target for read-only connections; {@code primary} is the fallback.
+     */
+    public DataSource readOnlyDataSource(DataSource primary) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return route(primary);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return primary.getConnection(username, password);
+            }
+        };
+    }
+
+    private Connection route(DataSource primary) throws SQLException {
+        if (readYourWrites.isSticky()) {
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown("connection failed: " + e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Re-evaluates every replica against {@code max-lag}; called by {@link ReplicaHealthCheck}.
+     */
+    void checkReplicas() {
+        for (ReplicaNode replica : replicas) {
+            replica.check();
+        }
+    }
+
+    List<ReplicaNode> replicas() {
+        return replicas;
+    }
+
+    long fallbackCount() {
+        return fallbacks.sum();
+    }
+
+    @PreDestroy
+    void close() {
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    final class ReplicaNode {
+        final String name;
+        final HikariDataSource dataSource;
+        // down until the first check has measured the lag
+        volatile boolean healthy;
+        volatile double lagSeconds = Double.NaN;
+
+        private ReplicaNode(ReadReplicaProperties.Replica config) {
+            this.name = config.name();
+            this.dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + config.name());
+            dataSource.setJdbcUrl(config.url());
+            dataSource.setUsername(config.username());
+            dataSource.setPassword(config.password());
+            dataSource.setMaximumPoolSize(config.maxPoolSize());
+            dataSource.setReadOnly(true);
+            // a replica that is down must not stall startup
+            dataSource.setInitializationFailTimeout(-1);
+        }
+
+        private void check() {
+            try (Connection con = dataSource.getConnection();
+                 Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery(props.lagQuery())) {
+                Number lag = rs.next() ? lagColumn(rs) : null;
+                if (lag == null) {
+                    markDown("replication not running");
+                    return;
+                }
+                lagSeconds = lag.doubleValue();
+                boolean withinLag = lagSeconds <= props.maxLag().toSeconds();
+                if (withinLag != healthy) {
+                    log.info("Replica {}. name={}, lagSeconds={}", withinLag ? "up" : "lagging", name, lagSeconds);
+                }
+                healthy = withinLag;
+            } catch (SQLException e) {
+                markDown(e.getMessage());
+            }
+        }
+
+        private static Number lagColumn(ResultSet rs) throws SQLException {
+            Object value = rs.getMetaData().getColumnCount() == 1
+                    ? rs.getObject(1)
+                    : rs.getObject("Seconds_Behind_Source");
+            return value instanceof Number n ? n : null;
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Replica down, reads fall back to the primary. name={}, reason={}", name, reason);
+            }
+            healthy = false;
+            lagSeconds = Double.NaN;
+        }
+    }
+}
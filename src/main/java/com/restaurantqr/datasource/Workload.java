@@ -0,0 +1,27 @@
+package com.restaurantqr.datasource;
+
+/**
+ * Which connection pool the current thread draws from. Bound per request by {@link WorkloadFilter};
+ * threads outside a request (scheduled jobs, the intake writer, startup) are {@link #BACKGROUND}.
+ */
+public enum Workload {
+
+    CUSTOMER,
+    STAFF,
+    BACKGROUND;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : BACKGROUND;
+    }
+
+    static void bind(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
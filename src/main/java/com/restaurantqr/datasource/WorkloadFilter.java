@@ -0,0 +1,36 @@
+package com.restaurantqr.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Public (QR) endpoints use the customer pool, everything else (staff, manager, auth, actuator) the staff pool.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(prefix = "app.datasource.pools", name = "enabled", havingValue = "true")
+public class WorkloadFilter extends OncePerRequestFilter {
+
+    private static final String PUBLIC_PREFIX = "/api/v1/public/";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Workload.bind(request.getRequestURI().startsWith(PUBLIC_PREFIX) ? Workload.CUSTOMER : Workload.STAFF);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Workload.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.restaurantqr.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured Hikari pool with one pool per {@link Workload} ({@code pool-customer},
+ * {@code pool-staff}, {@code pool-background}), each a copy of its configuration with its own size.
+ * Runs before the read replica wrapping, which then routes read-only work on top of these pools.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.pools", name = "enabled", havingValue = "true")
+public class WorkloadPoolConfig {
+
+    @Bean
+    static BeanPostProcessor workloadPoolsPostProcessor(ObjectProvider<WorkloadPoolProperties> props) {
+        return new WorkloadPoolsPostProcessor(props);
+    }
+
+    static final class WorkloadPoolsPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<WorkloadPoolProperties> props;
+
+        private WorkloadPoolsPostProcessor(ObjectProvider<WorkloadPoolProperties> props) {
+            this.props = props;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            WorkloadPoolProperties pools = props.getObject();
+            Map<Workload, HikariDataSource> byWorkload = new EnumMap<>(Workload.class);
+            for (Workload workload : Workload.values()) {
+                byWorkload.put(workload, createPool(primary, workload, pools.pool(workload)));
+            }
+            // the template was configured but never asked for a connection, so it holds none
+            primary.close();
+            return new WorkloadRoutingDataSource(byWorkload);
+        }
+
+        private static HikariDataSource createPool(HikariDataSource template, Workload workload,
+                                                   WorkloadPoolProperties.Pool pool) {
+            HikariConfig config = new HikariConfig();
+            template.copyStateTo(config);
+            config.setPoolName("pool-" + workload.name().toLowerCase());
+            config.setMaximumPoolSize(pool.maxPoolSize());
+            config.setMinimumIdle(pool.minIdle());
+            config.setConnectionTimeout(pool.connectionTimeout().toMillis());
+            return new HikariDataSource(config);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
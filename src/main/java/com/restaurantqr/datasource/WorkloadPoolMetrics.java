@@ -0,0 +1,35 @@
+package com.restaurantqr.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Binds every workload pool to Micrometer: {@code hikaricp.connections.acquire} (histogram, see
+ * {@code management.metrics.distribution}), {@code hikaricp.connections.pending}, {@code .active}, ... tagged
+ * {@code pool}. Spring Boot only instruments DataSource beans, and the pools are not beans. Also closes them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.pools", name = "enabled", havingValue = "true")
+public class WorkloadPoolMetrics {
+
+    private final WorkloadRoutingDataSource routing;
+
+    public WorkloadPoolMetrics(DataSource dataSource, MeterRegistry meterRegistry) throws SQLException {
+        this.routing = dataSource.unwrap(WorkloadRoutingDataSource.class);
+        // allowed once, also after the pool has started; Boot may already have bound the default (background) pool
+        routing.pools().values().stream()
+                .filter(pool -> pool.getMetricRegistry() == null)
+                .forEach(pool -> pool.setMetricRegistry(meterRegistry));
+    }
+
+    @PreDestroy
+    public void close() {
+        routing.pools().values().forEach(HikariDataSource::close);
+    }
+}
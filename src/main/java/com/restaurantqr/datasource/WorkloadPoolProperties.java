@@ -0,0 +1,31 @@
+package com.restaurantqr.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizes of the per-workload pools; everything else (URL, credentials, driver properties)
+ * is copied from {@code spring.datasource.*}.
+ */
+@ConfigurationProperties(prefix = "app.datasource.pools")
+public record WorkloadPoolProperties(
+        boolean enabled,
+        Pool customer,
+        Pool staff,
+        Pool background
+) {
+    public record Pool(
+            int maxPoolSize,
+            int minIdle,
+            Duration connectionTimeout
+    ) {}
+
+    public Pool pool(Workload workload) {
+        return switch (workload) {
+            case CUSTOMER -> customer;
+            case STAFF -> staff;
+            case BACKGROUND -> background;
+        };
+    }
+}
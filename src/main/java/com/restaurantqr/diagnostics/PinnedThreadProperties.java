@@ -0,0 +1,11 @@
+package com.restaurantqr.diagnostics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.diagnostics.pinned-threads")
+public record PinnedThreadProperties(
+        boolean enabled,
+        Duration threshold
+) {}
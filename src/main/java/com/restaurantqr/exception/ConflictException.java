@@ -0,0 +1,12 @@
+package com.restaurantqr.exception;
+
+public class ConflictException extends ApiException {
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String errorCode() {
+        return "CONFLICT";
+    }
+}
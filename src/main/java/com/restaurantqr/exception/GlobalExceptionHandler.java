@@ -1,12 +1,20 @@
 package com.restaurantqr.exception;
 
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import com.restaurantqr.metrics.HotPathMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.PessimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.*;
 import org.springframework.http.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
 import java.time.Instant;
 
@@ -15,6 +23,14 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+    private final HotPathMetrics metrics;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry, HotPathMetrics metrics) {
+        this.meterRegistry = meterRegistry;
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiErrorResponse> handleNotFound(ResourceNotFoundException ex, HttpServletRequest req) {
         return build(HttpStatus.NOT_FOUND, ex.errorCode(), ex.getMessage(), req.getRequestURI());
@@ -28,6 +44,18 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiErrorResponse> handleRateLimit(RateLimitException ex, HttpServletRequest req) {
         return build(HttpStatus.TOO_MANY_REQUESTS, ex.errorCode(), ex.getMessage(), req.getRequestURI());
     }
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ApiErrorResponse> handleServiceBusy(ServiceBusyException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.errorCode(), ex.getMessage(), req.getRequestURI());
+    }
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiErrorResponse> handleConflict(ConflictException ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, ex.errorCode(), ex.getMessage(), req.getRequestURI());
+    }
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLock(Exception ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, "CONFLICT", "Modified concurrently, reload and retry", req.getRequestURI());
+    }
     @ExceptionHandler(InvalidCredentialsException.class)
     public ResponseEntity<ApiErrorResponse> handleInvalidCredentials(InvalidCredentialsException ex, HttpServletRequest req) {
         return build(HttpStatus.UNAUTHORIZED, ex.errorCode(), ex.getMessage(), req.getRequestURI());
@@ -43,6 +71,12 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, "VALIDATION_ERROR", msg, req.getRequestURI());
     }
 
+    // a stream whose client went away or stopped reading; there is no response left to write to
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClientGone(AsyncRequestNotUsableException ex, HttpServletRequest req) {
+        log.debug("Client gone on path={}: {}", req.getRequestURI(), ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGeneric(Exception ex, HttpServletRequest req) {
         log.error("Unhandled exception on path={}", req.getRequestURI(), ex);
@@ -54,6 +88,14 @@ public class GlobalExceptionHandler {
     }
 
     private ResponseEntity<ApiErrorResponse> build(HttpStatus status, String code, String message, String path) {
+        // error codes are a closed set; restaurant comes from the JWT when there is one
+        Counter.builder("api.errors")
+                .tag("code", code)
+                .tag("status", String.valueOf(status.value()))
+                .tag("restaurant", metrics.restaurantTag(currentRestaurantId()))
+                .register(meterRegistry)
+                .increment();
+
         ApiErrorResponse body = new ApiErrorResponse(
                 Instant.now(),
                 status.value(),
@@ -64,5 +106,9 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(status).body(body);
     }
-}
 
+    private static Long currentRestaurantId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthPrincipal principal ? principal.restaurantId() : null;
+    }
+}
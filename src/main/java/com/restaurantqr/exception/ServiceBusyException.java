@@ -0,0 +1,13 @@
+package com.restaurantqr.exception;
+
+public class ServiceBusyException extends ApiException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    @Override
+    public String errorCode() {
+        return "SERVICE_BUSY";
+    }
+}
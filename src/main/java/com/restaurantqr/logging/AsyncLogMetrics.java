@@ -0,0 +1,42 @@
+package com.restaurantqr.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the async log appender: {@code logging.async.dropped} and {@code logging.async.queue.remaining}.
+ * The appender is looked up on every read because logback may be reconfigured at runtime.
+ */
+@Component
+public class AsyncLogMetrics {
+
+    static final String APPENDER_NAME = "ASYNC";
+
+    public AsyncLogMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.async.dropped", this, m -> {
+                    DropCountingAsyncAppender appender = m.appender();
+                    return appender != null ? appender.droppedCount() : 0;
+                })
+                .description("Log events discarded because the async queue was (nearly) full")
+                .register(meterRegistry);
+        Gauge.builder("logging.async.queue.remaining", this, m -> {
+                    DropCountingAsyncAppender appender = m.appender();
+                    return appender != null ? appender.getRemainingCapacity() : Double.NaN;
+                })
+                .description("Free slots in the async log queue")
+                .register(meterRegistry);
+    }
+
+    private DropCountingAsyncAppender appender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return null;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        return root.getAppender(APPENDER_NAME) instanceof DropCountingAsyncAppender appender ? appender : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.restaurantqr.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it sheds, so a full queue shows up as a metric
+ * ({@code logging.async.dropped}) instead of silently missing lines.
+ *
+ * Mirrors the base class decision: below {@code discardingThreshold} INFO and lower are discarded, and
+ * with {@code neverBlock} anything offered to a full queue is lost. The count is approximate under contention.
+ */
+public class DropCountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining == 0 || (remaining < getDiscardingThreshold() && isDiscardable(event))) {
+            dropped.increment();
+        }
+        super.append(event);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
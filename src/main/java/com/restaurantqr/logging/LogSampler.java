@@ -0,0 +1,29 @@
+package com.restaurantqr.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most one log event through per interval, for lines written on every poll:
+ * {@code if (log.isDebugEnabled() && SAMPLER.sample()) log.debug(...)}.
+ */
+public final class LogSampler {
+
+    private final long intervalNanos;
+    private final AtomicLong nextAt;
+
+    private LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextAt = new AtomicLong(System.nanoTime() - intervalNanos);
+    }
+
+    public static LogSampler perInterval(Duration interval) {
+        return new LogSampler(interval);
+    }
+
+    public boolean sample() {
+        long now = System.nanoTime();
+        long due = nextAt.get();
+        return now - due >= 0 && nextAt.compareAndSet(due, now + intervalNanos);
+    }
+}
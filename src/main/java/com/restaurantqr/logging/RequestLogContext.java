@@ -0,0 +1,36 @@
+package com.restaurantqr.logging;
+
+import org.slf4j.MDC;
+
+/**
+ * MDC keys attached to every log line of a request. Set by {@link RequestLogFilter} (requestId),
+ * the JWT filter (restaurantId) and the QR token resolver (restaurantId, tableId); cleared by the filter.
+ */
+public final class RequestLogContext {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String RESTAURANT_ID = "restaurantId";
+    public static final String TABLE_ID = "tableId";
+
+    private RequestLogContext() {
+    }
+
+    public static void putRestaurant(Long restaurantId) {
+        if (restaurantId != null) {
+            MDC.put(RESTAURANT_ID, restaurantId.toString());
+        }
+    }
+
+    public static void putTable(Long restaurantId, Long tableId) {
+        putRestaurant(restaurantId);
+        if (tableId != null) {
+            MDC.put(TABLE_ID, tableId.toString());
+        }
+    }
+
+    static void clear() {
+        MDC.remove(REQUEST_ID);
+        MDC.remove(RESTAURANT_ID);
+        MDC.remove(TABLE_ID);
+    }
+}
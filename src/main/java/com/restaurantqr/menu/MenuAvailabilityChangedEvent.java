@@ -0,0 +1,9 @@
+package com.restaurantqr.menu;
+
+import java.util.List;
+
+/**
+ * Published inside the availability transaction with the items that actually changed;
+ * listeners act after commit.
+ */
+public record MenuAvailabilityChangedEvent(Long restaurantId, boolean available, List<MenuItemDto> items) {}
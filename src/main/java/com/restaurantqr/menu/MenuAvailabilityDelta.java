@@ -0,0 +1,18 @@
+package com.restaurantqr.menu;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Menu availability change pushed on the menu stream (event `menu.availability`)")
+public record MenuAvailabilityDelta(
+        @Schema(description = "Menu version after the change (per instance, grows with every menu change). "
+                + "Not the ETag: that is a hash of the menu body", example = "8")
+        long menuVersion,
+
+        @Schema(description = "Items that can be ordered again (full item, to insert into the menu)")
+        List<MenuItemDto> availableItems,
+
+        @Schema(description = "Items to hide from the menu", example = "[12, 15]")
+        List<Long> unavailableItemIds
+) {}
@@ -0,0 +1,20 @@
+package com.restaurantqr.menu;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Switch menu items on or off (e.g. the kitchen ran out)")
+public record MenuAvailabilityRequest(
+        @NotEmpty(message = "menuItemIds is required")
+        @Size(max = 200, message = "at most 200 items per call")
+        @Schema(example = "[12, 15]")
+        List<@NotNull Long> menuItemIds,
+
+        @NotNull(message = "available is required")
+        @Schema(example = "false")
+        Boolean available
+) {}
@@ -0,0 +1,13 @@
+package com.restaurantqr.menu;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of an availability change")
+public record MenuAvailabilityResponse(
+        @Schema(example = "false") boolean available,
+        @Schema(description = "Items changed by this call", example = "[12]") List<Long> updated,
+        @Schema(description = "Items already in the requested state", example = "[15]") List<Long> unchanged,
+        @Schema(description = "Unknown, inactive or another restaurant's items", example = "[]") List<Long> notFound
+) {}
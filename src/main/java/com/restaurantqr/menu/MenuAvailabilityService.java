@@ -0,0 +1,84 @@
+package com.restaurantqr.menu;
+
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import com.restaurantqr.table.QrTokenResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class MenuAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuAvailabilityService.class);
+
+    private final MenuItemRepository itemRepository;
+    private final QrTokenResolver qrTokenResolver;
+    private final RestaurantEventBroadcaster broadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MenuAvailabilityService(MenuItemRepository itemRepository,
+                                   QrTokenResolver qrTokenResolver,
+                                   RestaurantEventBroadcaster broadcaster,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.itemRepository = itemRepository;
+        this.qrTokenResolver = qrTokenResolver;
+        this.broadcaster = broadcaster;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Switches items on or off with one UPDATE. The menu version is bumped and the delta pushed after commit.
+     * The bulk update bypasses the JPA entity listener, so the change event is published here.
+     */
+    @Transactional
+    public MenuAvailabilityResponse updateAvailability(Long restaurantId, List<Long> menuItemIds, boolean available) {
+        Set<Long> ids = new LinkedHashSet<>(menuItemIds);
+        List<Long> toToggle = itemRepository.findIdsToToggle(restaurantId, ids, available);
+
+        List<MenuItemDto> changed = List.of();
+        if (!toToggle.isEmpty()) {
+            itemRepository.updateAvailability(restaurantId, toToggle, available, Instant.now());
+            changed = itemRepository.findItemDtos(restaurantId, toToggle);
+            eventPublisher.publishEvent(new MenuAvailabilityChangedEvent(restaurantId, available, changed));
+        }
+
+        // ids not toggled: either already in that state or not ours / inactive
+        Set<Long> toggled = new HashSet<>(toToggle);
+        List<Long> others = ids.stream().filter(id -> !toggled.contains(id)).toList();
+        Set<Long> existing = others.isEmpty()
+                ? Set.of()
+                : new HashSet<>(itemRepository.findItemDtos(restaurantId, others).stream().map(MenuItemDto::id).toList());
+
+        List<Long> unchanged = new ArrayList<>();
+        List<Long> notFound = new ArrayList<>();
+        for (Long id : others) {
+            (existing.contains(id) ? unchanged : notFound).add(id);
+        }
+
+        log.info("Menu availability updated. restaurantId={}, available={}, updated={}, unchanged={}, notFound={}",
+                restaurantId, available, toToggle.size(), unchanged.size(), notFound.size());
+        return new MenuAvailabilityResponse(available, List.copyOf(toToggle), unchanged, notFound);
+    }
+
+    public SseEmitter streamForStaff(Long restaurantId, String lastEventId) {
+        log.info("Open staff menu stream. restaurantId={}, lastEventId={}", restaurantId, lastEventId);
+        return broadcaster.subscribe(StreamTopic.MENU, restaurantId, lastEventId);
+    }
+
+    public SseEmitter streamForTable(String qrToken, String lastEventId) {
+        Long restaurantId = qrTokenResolver.resolveActive(qrToken).restaurantId();
+        log.debug("Open table menu stream. restaurantId={}, lastEventId={}", restaurantId, lastEventId);
+        return broadcaster.subscribe(StreamTopic.MENU, restaurantId, lastEventId);
+    }
+}
@@ -0,0 +1,12 @@
+package com.restaurantqr.menu;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.menu.cache")
+public record MenuCacheProperties(
+        long maxRestaurants,
+        long maxPayloads,
+        Duration ttl
+) {}
@@ -8,6 +8,7 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(MenuEntityListener.class)
 @Table(name = "menu_categories")
 
 
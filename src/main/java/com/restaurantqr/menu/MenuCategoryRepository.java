@@ -1,9 +1,21 @@
 package com.restaurantqr.menu;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface MenuCategoryRepository extends JpaRepository<MenuCategory,Long> {
     List<MenuCategory> findByRestaurantIdAndIsActiveTrueOrderByDisplayOrderAsc(Long restaurantId);
+
+    // Menu snapshot: read straight into DTOs (no entity hydration)
+    @Query("""
+           select new com.restaurantqr.menu.MenuCategoryDto(c.id, c.name, c.displayOrder)
+           from MenuCategory c
+           where c.restaurant.id = :restaurantId
+             and c.isActive = true
+           order by c.displayOrder asc
+           """)
+    List<MenuCategoryDto> findActiveCategoryDtos(@Param("restaurantId") Long restaurantId);
 }
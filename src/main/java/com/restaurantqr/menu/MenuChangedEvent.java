@@ -0,0 +1,7 @@
+package com.restaurantqr.menu;
+
+/**
+ * Published whenever menu data of a restaurant changes (items, categories).
+ * Consumers should react after commit, see {@link MenuStreamPublisher}.
+ */
+public record MenuChangedEvent(Long restaurantId) {}
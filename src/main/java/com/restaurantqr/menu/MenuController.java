@@ -9,8 +9,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Tag(name = "Public - Menu", description = "Customer endpoints (no JWT required)")
 @RestController
@@ -18,10 +23,12 @@ import org.springframework.web.bind.annotation.*;
 public class MenuController {
 
     private final MenuService menuService;
+    private final MenuAvailabilityService availabilityService;
 
     private static final Logger log = LoggerFactory.getLogger(MenuController.class);
-    public MenuController(MenuService menuService) {
+    public MenuController(MenuService menuService, MenuAvailabilityService availabilityService) {
         this.menuService = menuService;
+        this.availabilityService = availabilityService;
     }
 
     @Operation(
@@ -30,12 +37,18 @@ public class MenuController {
                     Customer scans the table QR code and uses `qrToken` to fetch the menu.
                     
                     Returns active categories and available items for the table's restaurant.
+                    
+                    **Caching**
+                    - The response carries a strong `ETag` per menu version.
+                    - Send it back as `If-None-Match` to get `304 Not Modified` when nothing changed.
+                    - Gzip encoded when the client sends `Accept-Encoding: gzip`.
                     """
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Menu loaded successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = MenuResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Menu not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Invalid/inactive QR token",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class))),
@@ -43,10 +56,89 @@ public class MenuController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class)))
     })
-    @GetMapping("/tables/{qrToken}/menu")
-    public ResponseEntity<MenuResponse> getMenu(@PathVariable String qrToken) {
+    @GetMapping(value = "/tables/{qrToken}/menu", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMenu(
+            @PathVariable String qrToken,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
         log.debug("GET /public/tables/{}/menu", qrToken);
-        return ResponseEntity.ok(menuService.getMenuByQrToken(qrToken));
+
+        MenuPayload payload = menuService.getMenuPayloadByQrToken(qrToken);
+        boolean gzip = payload.hasGzip() && acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+
+        if (payload.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        // body is written as-is: no Jackson pass per request
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        }
+        return response.body(payload.json());
+    }
+
+    @Operation(
+            summary = "Stream menu changes for a table (server-sent events)",
+            description = """
+                    Pushes `menu.availability` deltas (items sold out / back) and `menu.changed` (other edits,
+                    reload the menu) as they are committed. Each event carries the new `menuVersion`.
+                    
+                    Reconnect with `Last-Event-ID` to receive missed events; `resync` means reload the menu.
+                    When the restaurant's stream limit is reached (429) keep polling the menu with its ETag.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Invalid/inactive QR token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many open streams for this restaurant",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/tables/{qrToken}/menu/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenu(
+            @PathVariable String qrToken,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        return availabilityService.streamForTable(qrToken, lastEventId);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().toLowerCase().split(";");
+            if (!parts[0].trim().equals("gzip")) {
+                continue;
+            }
+            // "gzip;q=0" explicitly refuses gzip
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
     }
 }
 
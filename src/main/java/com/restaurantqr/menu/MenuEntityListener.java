@@ -0,0 +1,38 @@
+package com.restaurantqr.menu;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener for {@link MenuItem} / {@link MenuCategory}.
+ * Hibernate resolves it through Spring, so it can publish application events.
+ */
+@Component
+public class MenuEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public MenuEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onMenuChange(Object entity) {
+        Long restaurantId = null;
+
+        if (entity instanceof MenuItem item && item.getRestaurant() != null) {
+            restaurantId = item.getRestaurant().getId();
+        } else if (entity instanceof MenuCategory category && category.getRestaurant() != null) {
+            restaurantId = category.getRestaurant().getId();
+        }
+
+        if (restaurantId != null) {
+            publisher.publishEvent(new MenuChangedEvent(restaurantId));
+        }
+    }
+}
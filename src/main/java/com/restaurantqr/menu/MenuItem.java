@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(MenuEntityListener.class)
 @Table(name = "menu_items")
 
 public class MenuItem {
@@ -1,11 +1,72 @@
 package com.restaurantqr.menu;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface MenuItemRepository extends JpaRepository<MenuItem,Long> {
     List<MenuItem> findByRestaurantIdAndIsActiveTrueAndIsAvailableTrueOrderByDisplayOrderAsc(Long restaurantId);
 
-    List<MenuItem> findByIdInAndRestaurantIdAndIsActiveTrue(List<Long> ids, Long restaurantId);
+    // Menu snapshot: category id comes from the FK column, no lazy load of MenuCategory
+    @Query("""
+           select new com.restaurantqr.menu.MenuItemDto(
+               i.id, i.category.id, i.name, i.description, i.price, i.isAvailable, i.displayOrder)
+           from MenuItem i
+           where i.restaurant.id = :restaurantId
+             and i.isActive = true
+             and i.isAvailable = true
+           order by i.displayOrder asc
+           """)
+    List<MenuItemDto> findActiveAvailableItemDtos(@Param("restaurantId") Long restaurantId);
+
+    // in-memory availability state: lets order validation tell "sold out" from "unknown" without a query
+    @Query("""
+           select i.id
+           from MenuItem i
+           where i.restaurant.id = :restaurantId
+             and i.isActive = true
+             and i.isAvailable = false
+           """)
+    List<Long> findUnavailableItemIds(@Param("restaurantId") Long restaurantId);
+
+    @Query("""
+           select i.id
+           from MenuItem i
+           where i.id in :ids
+             and i.restaurant.id = :restaurantId
+             and i.isActive = true
+             and i.isAvailable <> :available
+           """)
+    List<Long> findIdsToToggle(@Param("restaurantId") Long restaurantId,
+                               @Param("ids") Collection<Long> ids,
+                               @Param("available") boolean available);
+
+    @Modifying
+    @Query("""
+           update MenuItem i
+           set i.isAvailable = :available, i.updatedAt = :now
+           where i.id in :ids
+             and i.restaurant.id = :restaurantId
+           """)
+    int updateAvailability(@Param("restaurantId") Long restaurantId,
+                           @Param("ids") Collection<Long> ids,
+                           @Param("available") boolean available,
+                           @Param("now") Instant now);
+
+    // availability toggles, and the current price and availability of the items of an order
+    @Query("""
+           select new com.restaurantqr.menu.MenuItemDto(
+               i.id, i.category.id, i.name, i.description, i.price, i.isAvailable, i.displayOrder)
+           from MenuItem i
+           where i.id in :ids
+             and i.restaurant.id = :restaurantId
+             and i.isActive = true
+           order by i.displayOrder asc
+           """)
+    List<MenuItemDto> findItemDtos(@Param("restaurantId") Long restaurantId, @Param("ids") Collection<Long> ids);
 }
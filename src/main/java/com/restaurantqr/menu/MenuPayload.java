@@ -0,0 +1,36 @@
+package com.restaurantqr.menu;
+
+/**
+ * Pre-encoded menu response for one table of one menu version.
+ * The byte arrays are shared between requests and must never be modified.
+ */
+public record MenuPayload(
+        byte[] json,
+        byte[] gzip,
+        String etag,
+        String gzipEtag
+) {
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match (RFC 9110, 13.1.2).
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
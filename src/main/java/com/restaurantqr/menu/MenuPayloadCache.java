@@ -0,0 +1,87 @@
+package com.restaurantqr.menu;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized menu bodies keyed by (restaurant, menu version, restaurant name, table).
+ * Old versions are never looked up again and simply age out of the cache.
+ */
+@Component
+public class MenuPayloadCache {
+
+    // below this size gzip is not worth the extra header/CPU on the client
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final JsonMapper jsonMapper;
+    private final Cache<PayloadKey, MenuPayload> payloads;
+
+    public MenuPayloadCache(JsonMapper jsonMapper, MenuCacheProperties props, MeterRegistry meterRegistry) {
+        this.jsonMapper = jsonMapper;
+        this.payloads = Caffeine.newBuilder()
+                .maximumSize(props.maxPayloads())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, payloads, "menu.payloads");
+    }
+
+    public MenuPayload get(MenuSnapshot snapshot, String restaurantName, Integer tableNumber) {
+        PayloadKey key = new PayloadKey(snapshot.restaurantId(), snapshot.version(), restaurantName, tableNumber);
+        return payloads.get(key, k -> encode(new MenuResponse(
+                restaurantName,
+                tableNumber,
+                snapshot.categories(),
+                snapshot.items()
+        )));
+    }
+
+    private MenuPayload encode(MenuResponse response) {
+        byte[] json = jsonMapper.writeValueAsBytes(response);
+        String hash = hash(json);
+
+        byte[] gzip = json.length >= GZIP_MIN_BYTES ? gzip(json) : null;
+
+        return new MenuPayload(
+                json,
+                gzip,
+                "\"" + hash + "\"",
+                "\"" + hash + "-gz\""
+        );
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            // 128 bits are plenty for a cache validator
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        var out = new ByteArrayOutputStream(body.length / 3);
+        try (var gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record PayloadKey(Long restaurantId, long version, String restaurantName, Integer tableNumber) {}
+}
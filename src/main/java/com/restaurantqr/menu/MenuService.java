@@ -1,80 +1,72 @@
 package com.restaurantqr.menu;
 
 
-import com.restaurantqr.exception.BusinessRuleException;
-import com.restaurantqr.exception.ResourceNotFoundException;
-import com.restaurantqr.table.RestaurantTable;
-import com.restaurantqr.table.RestaurantTableRepository;
+import com.restaurantqr.logging.LogSampler;
+import com.restaurantqr.metrics.HotPathMetrics;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.ResolvedTable;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.*;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.Duration;
 
 @Service
 public class MenuService {
 
     private static final Logger log = LoggerFactory.getLogger(MenuService.class);
-
-    private final RestaurantTableRepository tableRepository;
-    private final MenuCategoryRepository categoryRepository;
-    private final MenuItemRepository itemRepository;
-
-    public MenuService(RestaurantTableRepository tableRepository,
-                       MenuCategoryRepository categoryRepository,
-                       MenuItemRepository itemRepository) {
-        this.tableRepository = tableRepository;
-        this.categoryRepository = categoryRepository;
-        this.itemRepository = itemRepository;
+    // per-request lines on the polling paths: sampled debug, never INFO
+    private static final LogSampler POLL_LOG = LogSampler.perInterval(Duration.ofSeconds(1));
+
+    private final QrTokenResolver qrTokenResolver;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuPayloadCache menuPayloadCache;
+    private final HotPathMetrics metrics;
+
+    public MenuService(QrTokenResolver qrTokenResolver,
+                       MenuSnapshotCache menuSnapshotCache,
+                       MenuPayloadCache menuPayloadCache,
+                       HotPathMetrics metrics) {
+        this.qrTokenResolver = qrTokenResolver;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.menuPayloadCache = menuPayloadCache;
+        this.metrics = metrics;
     }
 
     public MenuResponse getMenuByQrToken(String qrToken) {
+        ResolvedTable table = qrTokenResolver.resolveActive(qrToken);
+        Long restaurantId = table.restaurantId();
 
-        log.info("Get menu request received. qrToken={}", qrToken);
-
-        RestaurantTable table = tableRepository.findByQrTokenAndIsActiveTrue(qrToken)
-                .orElseThrow(() -> {
-                    log.warn("Invalid or inactive QR token. qrToken={}", qrToken);
-                    return new ResourceNotFoundException("Invalid or inactive QR token");
-                });
-
-        var restaurant = table.getRestaurant();
+        // categories + items are shared by all tables of the restaurant -> cached snapshot
+        MenuSnapshot snapshot = metrics.time("menu.get", restaurantId, Tags.of("format", "dto"),
+                () -> menuSnapshotCache.get(restaurantId));
 
-        if (!restaurant.isActive()) {
-            log.warn("Restaurant inactive. restaurantId={}, qrToken={}", restaurant.getId(), qrToken);
-            throw new BusinessRuleException("Restaurant is inactive");
+        if (log.isDebugEnabled() && POLL_LOG.sample()) {
+            log.debug("Menu loaded. restaurantId={}, tableNumber={}, menuVersion={}, categoriesCount={}, itemsCount={}",
+                    restaurantId, table.tableNumber(), snapshot.version(), snapshot.categories().size(), snapshot.items().size());
         }
 
-        Long restaurantId = restaurant.getId();
-
-        List<MenuCategoryDto> categories = categoryRepository
-                .findByRestaurantIdAndIsActiveTrueOrderByDisplayOrderAsc(restaurantId)
-                .stream()
-                .map(c -> new MenuCategoryDto(c.getId(), c.getName(), c.getDisplayOrder()))
-                .toList();
-
-        List<MenuItemDto> items = itemRepository
-                .findByRestaurantIdAndIsActiveTrueAndIsAvailableTrueOrderByDisplayOrderAsc(restaurantId)
-                .stream()
-                .map(i -> new MenuItemDto(
-                        i.getId(),
-                        i.getCategory().getId(),
-                        i.getName(),
-                        i.getDescription(),
-                        i.getPrice(),
-                        i.isAvailable(),
-                        i.getDisplayOrder()
-                ))
-                .toList();
-
-        log.info("Menu loaded successfully. restaurantId={}, tableNumber={}, categoriesCount={}, itemsCount={}",
-                restaurantId, table.getTableNumber(), categories.size(), items.size());
-
         return new MenuResponse(
-                restaurant.getName(),
-                table.getTableNumber(),
-                categories,
-                items
+                table.restaurantName(),
+                table.tableNumber(),
+                snapshot.categories(),
+                snapshot.items()
         );
     }
-}
 
+    /**
+     * Same content as {@link #getMenuByQrToken(String)}, already serialized (and gzipped)
+     * for the current menu version of the table.
+     */
+    public MenuPayload getMenuPayloadByQrToken(String qrToken) {
+        ResolvedTable table = qrTokenResolver.resolveActive(qrToken);
+        if (log.isDebugEnabled() && POLL_LOG.sample()) {
+            log.debug("Menu payload requested. restaurantId={}, tableNumber={}", table.restaurantId(), table.tableNumber());
+        }
+
+        return metrics.time("menu.get", table.restaurantId(), Tags.of("format", "payload"), () -> {
+            MenuSnapshot snapshot = menuSnapshotCache.get(table.restaurantId());
+            return menuPayloadCache.get(snapshot, table.restaurantName(), table.tableNumber());
+        });
+    }
+}
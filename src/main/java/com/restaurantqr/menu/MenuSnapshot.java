@@ -0,0 +1,32 @@
+package com.restaurantqr.menu;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, table-independent part of a restaurant menu.
+ * {@code version} changes every time the menu of the restaurant is invalidated.
+ */
+public record MenuSnapshot(
+        Long restaurantId,
+        long version,
+        List<MenuCategoryDto> categories,
+        List<MenuItemDto> items,
+        // active but switched off ("86'd") items, not part of the public menu
+        Set<Long> unavailableItemIds,
+        Map<Long, MenuItemDto> itemsById
+) {
+
+    public MenuSnapshot(Long restaurantId, long version, List<MenuCategoryDto> categories,
+                        List<MenuItemDto> items, Set<Long> unavailableItemIds) {
+        this(restaurantId, version, categories, items, unavailableItemIds,
+                items.stream().collect(Collectors.toUnmodifiableMap(MenuItemDto::id, Function.identity())));
+    }
+
+    public boolean isUnavailable(Long menuItemId) {
+        return unavailableItemIds.contains(menuItemId);
+    }
+}
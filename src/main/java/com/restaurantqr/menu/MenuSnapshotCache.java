@@ -0,0 +1,85 @@
+package com.restaurantqr.menu;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-restaurant menu snapshots (bounded size + TTL).
+ *
+ * Every restaurant has a version counter. Invalidation bumps the version first,
+ * so a snapshot loaded concurrently with a change is never served as current.
+ */
+@Component
+public class MenuSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MenuSnapshotCache.class);
+
+    private final MenuCategoryRepository categoryRepository;
+    private final MenuItemRepository itemRepository;
+
+    private final Cache<Long, MenuSnapshot> snapshots;
+    private final ConcurrentMap<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public MenuSnapshotCache(MenuCategoryRepository categoryRepository,
+                             MenuItemRepository itemRepository,
+                             MenuCacheProperties props,
+                             MeterRegistry meterRegistry) {
+        this.categoryRepository = categoryRepository;
+        this.itemRepository = itemRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(props.maxRestaurants())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "menu.snapshots");
+    }
+
+    public MenuSnapshot get(Long restaurantId) {
+        long version = currentVersion(restaurantId);
+
+        MenuSnapshot snapshot = snapshots.get(restaurantId, id -> load(id, version));
+        if (snapshot.version() != version) {
+            // loaded before the last invalidation -> drop it and load again
+            snapshots.asMap().remove(restaurantId, snapshot);
+            snapshot = snapshots.get(restaurantId, id -> load(id, currentVersion(id)));
+        }
+        return snapshot;
+    }
+
+    public long currentVersion(Long restaurantId) {
+        return versions.computeIfAbsent(restaurantId, id -> new AtomicLong(1)).get();
+    }
+
+    /**
+     * @return the new menu version
+     */
+    public long invalidate(Long restaurantId) {
+        long version = versions.computeIfAbsent(restaurantId, id -> new AtomicLong(1)).incrementAndGet();
+        snapshots.invalidate(restaurantId);
+        log.debug("Menu snapshot invalidated. restaurantId={}, newVersion={}", restaurantId, version);
+        return version;
+    }
+
+    private MenuSnapshot load(Long restaurantId, long version) {
+        List<MenuCategoryDto> categories = categoryRepository.findActiveCategoryDtos(restaurantId);
+        List<MenuItemDto> items = itemRepository.findActiveAvailableItemDtos(restaurantId);
+        Set<Long> unavailable = Set.copyOf(itemRepository.findUnavailableItemIds(restaurantId));
+
+        log.debug("Menu snapshot loaded. restaurantId={}, version={}, categoriesCount={}, itemsCount={}",
+                restaurantId, version, categories.size(), items.size());
+
+        return new MenuSnapshot(restaurantId, version, List.copyOf(categories), List.copyOf(items), unavailable);
+    }
+}
@@ -0,0 +1,83 @@
+package com.restaurantqr.menu;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import com.restaurantqr.config.OpenApiConfig;
+import com.restaurantqr.exception.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Staff - Menu", description = "Menu availability for staff and managers (JWT required)")
+@RestController
+@RequestMapping("/api/v1/staff/menu")
+public class MenuStaffController {
+
+    private final MenuAvailabilityService availabilityService;
+
+    public MenuStaffController(MenuAvailabilityService availabilityService) {
+        this.availabilityService = availabilityService;
+    }
+
+    @Operation(
+            summary = "Switch menu items on/off (86 an item)",
+            description = """
+                Marks up to 200 items of the authenticated restaurant as available or sold out with one update.
+
+                - The menu version is bumped (new menu ETag) and new orders for sold out items are rejected
+                  without a database lookup.
+                - Connected customer and staff menu streams receive a `menu.availability` delta.
+                - Idempotent: items already in the requested state are reported as `unchanged`.
+
+                **Restaurant isolation**
+                - Enforced using `restaurantId` claim in JWT; other restaurants' items are reported as `notFound`.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Availability updated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = MenuAvailabilityResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Validation error",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (wrong role)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PatchMapping("/items/availability")
+    public MenuAvailabilityResponse updateAvailability(Authentication authentication,
+                                                       @Valid @RequestBody MenuAvailabilityRequest request) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return availabilityService.updateAvailability(principal.restaurantId(), request.menuItemIds(),
+                request.available());
+    }
+
+    @Operation(
+            summary = "Stream menu changes (server-sent events)",
+            description = """
+                Same events as the customer menu stream: `menu.availability` deltas and `menu.changed`.
+                Reconnect with `Last-Event-ID` to receive missed events.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMenu(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return availabilityService.streamForStaff(principal.restaurantId(), lastEventId);
+    }
+}
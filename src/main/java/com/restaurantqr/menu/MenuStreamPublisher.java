@@ -0,0 +1,43 @@
+package com.restaurantqr.menu;
+
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bumps the menu version after a committed menu change and pushes it to the menu stream.
+ * Availability toggles send a delta; other changes only announce the new version.
+ */
+@Component
+public class MenuStreamPublisher {
+
+    public static final String MENU_AVAILABILITY = "menu.availability";
+    public static final String MENU_CHANGED = "menu.changed";
+
+    private final MenuSnapshotCache snapshotCache;
+    private final RestaurantEventBroadcaster broadcaster;
+
+    public MenuStreamPublisher(MenuSnapshotCache snapshotCache, RestaurantEventBroadcaster broadcaster) {
+        this.snapshotCache = snapshotCache;
+        this.broadcaster = broadcaster;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        long version = snapshotCache.invalidate(event.restaurantId());
+        broadcaster.publish(StreamTopic.MENU, event.restaurantId(), MENU_CHANGED, Map.of("menuVersion", version));
+    }
+
+    @TransactionalEventListener
+    public void onAvailabilityChanged(MenuAvailabilityChangedEvent event) {
+        long version = snapshotCache.invalidate(event.restaurantId());
+        MenuAvailabilityDelta delta = event.available()
+                ? new MenuAvailabilityDelta(version, event.items(), List.of())
+                : new MenuAvailabilityDelta(version, List.of(), event.items().stream().map(MenuItemDto::id).toList());
+        broadcaster.publish(StreamTopic.MENU, event.restaurantId(), MENU_AVAILABILITY, delta);
+    }
+}
@@ -0,0 +1,69 @@
+package com.restaurantqr.metrics;
+
+import com.restaurantqr.exception.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timers for request hot paths, tagged by restaurant and outcome.
+ *
+ * The {@code restaurant} tag is bounded: the first {@code app.metrics.max-restaurant-tags}
+ * restaurants seen get their own series, every later one is reported as {@code other}.
+ * {@code outcome} is {@code success}, the {@link ApiException#errorCode()} or {@code error}.
+ */
+@Component
+public class HotPathMetrics {
+
+    public static final String OTHER = "other";
+    public static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRestaurantTags;
+    private final Set<Long> taggedRestaurants = ConcurrentHashMap.newKeySet();
+
+    public HotPathMetrics(MeterRegistry meterRegistry, MetricsProperties props) {
+        this.meterRegistry = meterRegistry;
+        this.maxRestaurantTags = props.maxRestaurantTags();
+    }
+
+    public <T> T time(String name, Long restaurantId, Supplier<T> body) {
+        return time(name, restaurantId, Tags.empty(), body);
+    }
+
+    public <T> T time(String name, Long restaurantId, Tags tags, Supplier<T> body) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } catch (ApiException e) {
+            outcome = e.errorCode();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("restaurant", restaurantTag(restaurantId))
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    public String restaurantTag(Long restaurantId) {
+        if (restaurantId == null) {
+            return NONE;
+        }
+        // the size check may overshoot by a few under contention, which is fine for a cardinality guard
+        if (taggedRestaurants.contains(restaurantId)
+                || (taggedRestaurants.size() < maxRestaurantTags && taggedRestaurants.add(restaurantId))) {
+            return restaurantId.toString();
+        }
+        return OTHER;
+    }
+}
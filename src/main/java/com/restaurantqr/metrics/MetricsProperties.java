@@ -0,0 +1,12 @@
+package com.restaurantqr.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.metrics")
+public record MetricsProperties(
+        String scrapeToken,
+        int maxRestaurantTags,
+        Duration openOrdersRefresh
+) {}
@@ -0,0 +1,3 @@
+package com.restaurantqr.metrics;
+
+public record RestaurantCount(Long restaurantId, long count) {}
@@ -0,0 +1,47 @@
+package com.restaurantqr.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Authenticates the Prometheus scraper with a static bearer token: one constant-time compare,
+ * no JWT parsing or user lookup per scrape. Not a Spring bean, it is only added to the metrics chain.
+ */
+public class ScrapeTokenFilter extends OncePerRequestFilter {
+
+    public static final String SCRAPE_AUTHORITY = "ROLE_METRICS";
+
+    private final byte[] expected;
+
+    public ScrapeTokenFilter(String scrapeToken) {
+        // blank token: scraping disabled, nothing matches
+        this.expected = scrapeToken == null || scrapeToken.isBlank()
+                ? null
+                : ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (expected != null && header != null
+                && MessageDigest.isEqual(expected, header.getBytes(StandardCharsets.UTF_8))) {
+            var auth = new UsernamePasswordAuthenticationToken("prometheus", null,
+                    List.of(new SimpleGrantedAuthority(SCRAPE_AUTHORITY)));
+            SecurityContextHolder.getContext().setAuthentication(auth);
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -14,8 +14,8 @@ import java.time.Instant;
 
 public class CustomerOrder {
 
+    // assigned from OrderIdAllocator before insert, so queued orders can be batch inserted
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -41,6 +41,19 @@ public class CustomerOrder {
     @Column(name = "sent_to_kitchen_at")
     private Instant sentToKitchenAt;
 
+    private Instant readyAt;
+
+    private Instant servedAt;
+
+    private Instant paidAt;
+
+    private Instant cancelledAt;
+
+    // concurrent transitions: the second UPDATE ... WHERE version = ? matches no row
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Business rule (not DB): one order per minute per table
 
 
@@ -73,6 +86,42 @@ public class CustomerOrder {
         this.sentToKitchenAt = sentToKitchenAt;
     }
 
+    public Instant getReadyAt() {
+        return readyAt;
+    }
+
+    public void setReadyAt(Instant readyAt) {
+        this.readyAt = readyAt;
+    }
+
+    public Instant getServedAt() {
+        return servedAt;
+    }
+
+    public void setServedAt(Instant servedAt) {
+        this.servedAt = servedAt;
+    }
+
+    public Instant getPaidAt() {
+        return paidAt;
+    }
+
+    public void setPaidAt(Instant paidAt) {
+        this.paidAt = paidAt;
+    }
+
+    public Instant getCancelledAt() {
+        return cancelledAt;
+    }
+
+    public void setCancelledAt(Instant cancelledAt) {
+        this.cancelledAt = cancelledAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     public Long getId() {
         return id;
     }
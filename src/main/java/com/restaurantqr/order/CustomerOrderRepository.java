@@ -1,39 +1,136 @@
 package com.restaurantqr.order;
 
+import com.restaurantqr.metrics.RestaurantCount;
+import com.restaurantqr.order.staff.OrderHeader;
+import com.restaurantqr.order.staff.OrderStatus;
+import com.restaurantqr.order.staff.OrderStatusResponse;
+import com.restaurantqr.order.staff.OrderSummaryDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, Long> {
 
-    Page<CustomerOrder> findByRestaurantIdOrderByCreatedAtDesc(Long restaurantId, Pageable pageable);
-
     Page<CustomerOrder> findByRestaurantIdAndTableIdOrderByCreatedAtDesc(Long restaurantId, Long tableId, Pageable pageable);
 
     boolean existsByTableIdAndCreatedAtAfter(Long tableId, Instant threshold);
 
-    // ✅ Polling: bring only orders created after 'since'
-    @Query("""
-        select o
+    // Offset listing projected to the DTO (no lazy table load per row)
+    @Query(value = """
+        select new com.restaurantqr.order.staff.OrderSummaryDto(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.status)
+        from CustomerOrder o
+        join o.table t
+        where o.restaurant.id = :restaurantId
+    """, countQuery = """
+        select count(o)
+        from CustomerOrder o
+        where o.restaurant.id = :restaurantId
+    """)
+    Page<OrderSummaryDto> findSummaries(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    @Query(value = """
+        select new com.restaurantqr.order.staff.OrderSummaryDto(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.status)
+        from CustomerOrder o
+        join o.table t
+        where o.restaurant.id = :restaurantId
+          and o.createdAt > :since
+    """, countQuery = """
+        select count(o)
         from CustomerOrder o
         where o.restaurant.id = :restaurantId
           and o.createdAt > :since
-        order by o.createdAt asc
     """)
-    List<CustomerOrder> findNewOrdersSince(Long restaurantId, Instant since);
+    Page<OrderSummaryDto> findSummariesSince(@Param("restaurantId") Long restaurantId,
+                                             @Param("since") Instant since,
+                                             Pageable pageable);
+
+    // Details header; the restaurant boundary is part of the WHERE clause
+    @Query("""
+        select new com.restaurantqr.order.staff.OrderHeader(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.note, o.status)
+        from CustomerOrder o
+        join o.table t
+        where o.id = :orderId
+          and o.restaurant.id = :restaurantId
+    """)
+    Optional<OrderHeader> findHeader(@Param("restaurantId") Long restaurantId, @Param("orderId") Long orderId);
 
-    //  Polling + paging
+    Optional<CustomerOrder> findByIdAndRestaurantId(Long id, Long restaurantId);
+
+    // Keyset listing (newest first): orders strictly before (createdAt, id)
     @Query("""
-        select o
+        select new com.restaurantqr.order.staff.OrderSummaryDto(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.status)
         from CustomerOrder o
+        join o.table t
         where o.restaurant.id = :restaurantId
-          and o.createdAt > :since
+          and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+        order by o.createdAt desc, o.id desc
     """)
-    Page<CustomerOrder> findNewOrdersSince(Long restaurantId, Instant since, Pageable pageable);
-}
+    List<OrderSummaryDto> findSummariesBefore(@Param("restaurantId") Long restaurantId,
+                                              @Param("createdAt") Instant createdAt,
+                                              @Param("id") Long id,
+                                              Limit limit);
 
+    // Keyset polling (oldest first): orders strictly after (createdAt, id)
+    @Query("""
+        select new com.restaurantqr.order.staff.OrderSummaryDto(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.status)
+        from CustomerOrder o
+        join o.table t
+        where o.restaurant.id = :restaurantId
+          and (o.createdAt > :createdAt or (o.createdAt = :createdAt and o.id > :id))
+        order by o.createdAt asc, o.id asc
+    """)
+    List<OrderSummaryDto> findSummariesAfter(@Param("restaurantId") Long restaurantId,
+                                             @Param("createdAt") Instant createdAt,
+                                             @Param("id") Long id,
+                                             Limit limit);
+
+    @Query("""
+        select new com.restaurantqr.order.staff.OrderSummaryDto(o.id, t.tableNumber, o.createdAt, o.totalAmount, o.status)
+        from CustomerOrder o
+        join o.table t
+        where o.restaurant.id = :restaurantId
+        order by o.createdAt desc, o.id desc
+    """)
+    List<OrderSummaryDto> findLatestSummaries(@Param("restaurantId") Long restaurantId, Limit limit);
+
+    // single statement for a whole "send all": restaurant boundary and idempotency live in the WHERE clause
+    @Modifying
+    @Query("""
+        update CustomerOrder o
+        set o.status = :to, o.sentToKitchenAt = :now, o.version = o.version + 1
+        where o.id in :orderIds
+          and o.restaurant.id = :restaurantId
+          and o.status = :from
+    """)
+    int markSentToKitchen(@Param("restaurantId") Long restaurantId,
+                          @Param("orderIds") Collection<Long> orderIds,
+                          @Param("from") OrderStatus from,
+                          @Param("to") OrderStatus to,
+                          @Param("now") Instant now);
+
+    @Query("""
+        select new com.restaurantqr.order.staff.OrderStatusResponse(o.id, o.status, o.sentToKitchenAt, o.version)
+        from CustomerOrder o
+        where o.id in :orderIds
+          and o.restaurant.id = :restaurantId
+    """)
+    List<OrderStatusResponse> findStatuses(@Param("restaurantId") Long restaurantId,
+                                           @Param("orderIds") Collection<Long> orderIds);
+
+    @Query("""
+        select new com.restaurantqr.metrics.RestaurantCount(o.restaurant.id, count(o))
+        from CustomerOrder o
+        where o.status = :status
+        group by o.restaurant.id
+    """)
+    List<RestaurantCount> countByStatusPerRestaurant(@Param("status") OrderStatus status);
+}
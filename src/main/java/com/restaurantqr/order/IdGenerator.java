@@ -0,0 +1,38 @@
+package com.restaurantqr.order;
+
+import jakarta.persistence.*;
+
+/**
+ * One row of {@code id_generators} (see V4): the upper end of the next id block for a table.
+ */
+@Entity
+@Table(name = "id_generators")
+public class IdGenerator {
+
+    @Id
+    @Column(length = 255)
+    private String name;
+
+    @Column(nullable = false)
+    private long nextVal;
+
+    public IdGenerator() {
+    }
+
+    public IdGenerator(String name, long nextVal) {
+        this.name = name;
+        this.nextVal = nextVal;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNextVal() {
+        return nextVal;
+    }
+
+    public void setNextVal(long nextVal) {
+        this.nextVal = nextVal;
+    }
+}
@@ -0,0 +1,16 @@
+package com.restaurantqr.order;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface IdGeneratorRepository extends JpaRepository<IdGenerator, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from IdGenerator g where g.name = :name")
+    Optional<IdGenerator> findByNameForUpdate(@Param("name") String name);
+}
@@ -1,7 +1,9 @@
 package com.restaurantqr.order;
 
 import com.restaurantqr.exception.ApiErrorResponse;
+import com.restaurantqr.order.intake.OrderIntakeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,6 +14,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
 
 @Tag(name = "Public - Orders", description = "Customer order endpoints (no JWT required)")
 @RestController
@@ -20,10 +26,10 @@ public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
-    private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
 
-    public OrderController(OrderService orderService) {
-        this.orderService = orderService;
+    public OrderController(OrderIntakeService orderIntakeService) {
+        this.orderIntakeService = orderIntakeService;
     }
     @Operation(
             summary = "Submit order for a table",
@@ -36,12 +42,25 @@ public class OrderController {
                     
                     **Concurrency safety**
                     - Table row is locked using pessimistic locking to prevent race conditions.
+                    
+                    **Intake modes** (`app.orders.intake.mode`)
+                    - SYNC (default): the order is stored before the response, `201 Created`.
+                    - ASYNC: the order is validated against the menu, queued, and answered with
+                      `202 Accepted` + `orderId` and `ticketId` (status `PENDING`). Poll the `Location` URL
+                      until the status is `PERSISTED` (or `FAILED`).
+                    
+                    **Idempotency**
+                    - Send an `Idempotency-Key` header (e.g. a UUID generated per cart) to make retries safe:
+                      a repeated submission with the same key returns the first submission instead of a new order.
                     """
     )
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "Order created",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = SubmitOrderResponse.class))),
+            @ApiResponse(responseCode = "202", description = "Order accepted and queued (ASYNC intake)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SubmitOrderResponse.class))),
             @ApiResponse(responseCode = "429", description = "Rate limit exceeded",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiErrorResponse.class))),
@@ -56,10 +75,48 @@ public class OrderController {
     @PostMapping("/tables/{qrToken}/orders")
     public ResponseEntity<SubmitOrderResponse> submitOrder(
             @PathVariable String qrToken,
+            @Parameter(description = "Client generated key that makes retries of the same submission safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody SubmitOrderRequest request
     ) {
-        log.info("POST /public/tables/{}/orders", qrToken);
-        SubmitOrderResponse resp = orderService.submitOrder(qrToken, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(resp);
+        log.debug("POST /public/tables/{}/orders", qrToken);
+        SubmitOrderResponse resp = orderIntakeService.submit(qrToken, idempotencyKey, request);
+        return switch (resp.status()) {
+            case PERSISTED -> ResponseEntity.status(HttpStatus.CREATED).body(resp);
+            case PENDING -> ResponseEntity.accepted().location(ticketLocation(qrToken, resp.ticketId())).body(resp);
+            case FAILED -> ResponseEntity.ok(resp);
+        };
+    }
+
+    @Operation(
+            summary = "Get the intake status of a submitted order",
+            description = """
+                    Returns the ticket returned by `POST /orders` (ASYNC intake or Idempotency-Key).
+                    
+                    - PENDING: queued, not yet stored
+                    - PERSISTED: stored, `orderId` is set
+                    - FAILED: could not be stored, submit again
+                    
+                    Tickets are kept for a limited time (`app.orders.intake.ticket-ttl`).
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Ticket returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = SubmitOrderResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired ticket",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/tables/{qrToken}/orders/tickets/{ticketId}")
+    public SubmitOrderResponse getTicket(@PathVariable String qrToken, @PathVariable UUID ticketId) {
+        return orderIntakeService.getTicket(qrToken, ticketId);
+    }
+
+    private static URI ticketLocation(String qrToken, UUID ticketId) {
+        return ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/public/tables/{qrToken}/orders/tickets/{ticketId}")
+                .buildAndExpand(qrToken, ticketId)
+                .toUri();
     }
 }
@@ -0,0 +1,84 @@
+package com.restaurantqr.order;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids for orders and order items, handed out from pooled {@code id_generators} blocks of 50 with the
+ * layout Hibernate's pooled table generator used (ids {@code next_val - 49 .. next_val}, then +50).
+ *
+ * Callers reserve ids before their own transaction starts. A new block takes a short transaction on a
+ * connection of its own; taking it while the caller already holds a pooled connection and the table row
+ * lock (as the table generator did, behind its synchronized optimizer) can stall every submit for the
+ * full connection timeout once all customer connections are busy with submits.
+ * Blocks are per instance; ids of rejected or rolled back orders are skipped, like sequence values.
+ */
+@Component
+public class OrderIdAllocator {
+
+    static final int BLOCK_SIZE = 50;
+
+    private final IdGeneratorRepository idGeneratorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Block orders = new Block("customer_orders");
+    private final Block orderItems = new Block("order_items");
+
+    public OrderIdAllocator(IdGeneratorRepository idGeneratorRepository, PlatformTransactionManager transactionManager) {
+        this.idGeneratorRepository = idGeneratorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long nextOrderId() {
+        return orders.next(1).get(0);
+    }
+
+    public List<Long> nextOrderItemIds(int count) {
+        return orderItems.next(count);
+    }
+
+    private long allocate(String name) {
+        // the first allocation on an empty schema (dev) creates the row
+        IdGenerator row = idGeneratorRepository.findByNameForUpdate(name)
+                .orElseGet(() -> idGeneratorRepository.save(new IdGenerator(name, BLOCK_SIZE)));
+        long hi = row.getNextVal();
+        row.setNextVal(hi + BLOCK_SIZE);
+        return hi;
+    }
+
+    private final class Block {
+        private final String name;
+        // not synchronized: the holder may wait for a connection, which must not pin a virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+        private long next = 1;
+        private long last = 0;
+
+        private Block(String name) {
+            this.name = name;
+        }
+
+        List<Long> next(int count) {
+            List<Long> ids = new ArrayList<>(count);
+            lock.lock();
+            try {
+                while (ids.size() < count) {
+                    if (next > last) {
+                        long hi = transactionTemplate.execute(status -> allocate(name));
+                        next = hi - BLOCK_SIZE + 1;
+                        last = hi;
+                    }
+                    ids.add(next++);
+                }
+            } finally {
+                lock.unlock();
+            }
+            return ids;
+        }
+    }
+}
@@ -3,16 +3,17 @@ package com.restaurantqr.order;
 import com.restaurantqr.menu.MenuItem;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(name = "order_items")
 
-public class OrderItem {
+public class OrderItem implements Persistable<Long> {
 
+    // assigned from OrderIdAllocator before insert, so item rows can be JDBC batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
@@ -35,6 +36,10 @@ public class OrderItem {
     @Column(columnDefinition = "TEXT")
     private String note;
 
+    // the id is set before save, so Spring Data cannot tell a new item by it (and would merge)
+    @Transient
+    private boolean isNew = true;
+
     public OrderItem() {
     }
 
@@ -48,10 +53,22 @@ public class OrderItem {
         this.note = note;
     }
 
+    @Override
     public Long getId() {
         return id;
     }
 
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markNotNew() {
+        isNew = false;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
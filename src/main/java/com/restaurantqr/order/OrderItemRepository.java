@@ -1,10 +1,56 @@
 package com.restaurantqr.order;
 
+import com.restaurantqr.order.kitchen.KitchenLine;
+import com.restaurantqr.order.staff.OrderItemDto;
+import com.restaurantqr.order.staff.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem,Long> {
     List<OrderItem> findByOrderId(Long orderId);
 
+    @Query("""
+        select new com.restaurantqr.order.staff.OrderItemDto(m.id, m.name, oi.quantity, oi.unitPrice, oi.totalPrice, oi.note)
+        from OrderItem oi
+        join oi.menuItem m
+        where oi.order.id = :orderId
+        order by oi.id asc
+    """)
+    List<OrderItemDto> findItemDtosByOrderId(@Param("orderId") Long orderId);
+
+    // driven by idx_customer_orders_restaurant_status_sent; same column as the board's eviction
+    @Query("""
+        select new com.restaurantqr.order.kitchen.KitchenLine(
+            o.id, t.tableNumber, o.sentToKitchenAt, m.id, m.name, oi.quantity, oi.note)
+        from OrderItem oi
+        join oi.order o
+        join o.table t
+        join oi.menuItem m
+        where o.restaurant.id = :restaurantId
+          and o.status = :status
+          and o.sentToKitchenAt >= :from
+        order by o.sentToKitchenAt asc, oi.id asc
+    """)
+    List<KitchenLine> findKitchenLines(@Param("restaurantId") Long restaurantId,
+                                       @Param("status") OrderStatus status,
+                                       @Param("from") Instant from);
+
+    @Query("""
+        select new com.restaurantqr.order.kitchen.KitchenLine(
+            o.id, t.tableNumber, o.sentToKitchenAt, m.id, m.name, oi.quantity, oi.note)
+        from OrderItem oi
+        join oi.order o
+        join o.table t
+        join oi.menuItem m
+        where o.id in :orderIds
+          and o.restaurant.id = :restaurantId
+        order by oi.id asc
+    """)
+    List<KitchenLine> findKitchenLinesByOrderIds(@Param("restaurantId") Long restaurantId,
+                                                 @Param("orderIds") Collection<Long> orderIds);
 }
@@ -0,0 +1,16 @@
+package com.restaurantqr.order;
+
+import java.math.BigDecimal;
+
+/**
+ * Server-side price arithmetic shared by the synchronous and the queued order paths.
+ */
+public final class OrderPricing {
+
+    private OrderPricing() {
+    }
+
+    public static BigDecimal lineTotal(BigDecimal unitPrice, int quantity) {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
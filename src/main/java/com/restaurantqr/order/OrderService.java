@@ -3,50 +3,119 @@ package com.restaurantqr.order;
 import com.restaurantqr.exception.BusinessRuleException;
 import com.restaurantqr.exception.RateLimitException;
 import com.restaurantqr.exception.ResourceNotFoundException;
-import com.restaurantqr.menu.MenuItem;
+import com.restaurantqr.menu.MenuItemDto;
 import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.menu.MenuSnapshot;
+import com.restaurantqr.menu.MenuSnapshotCache;
+import com.restaurantqr.metrics.HotPathMetrics;
 import com.restaurantqr.order.staff.OrderStatus;
 import com.restaurantqr.order.staff.OrderStatusResponse;
+import com.restaurantqr.order.staff.OrderSummaryDto;
+import com.restaurantqr.ratelimit.RateLimitProperties;
+import com.restaurantqr.ratelimit.TableAction;
+import com.restaurantqr.ratelimit.TableRateLimiter;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.ResolvedTable;
 import com.restaurantqr.table.RestaurantTable;
 import com.restaurantqr.table.RestaurantTableRepository;
+import com.restaurantqr.tracing.StageTracer;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
+    private final QrTokenResolver qrTokenResolver;
+    private final TableRateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
     private final RestaurantTableRepository tableRepository;
     private final MenuItemRepository menuItemRepository;
+    private final MenuSnapshotCache menuSnapshotCache;
     private final CustomerOrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-
-    public OrderService(RestaurantTableRepository tableRepository,
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotPathMetrics metrics;
+    private final StageTracer tracer;
+    private final OrderIdAllocator idAllocator;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderService(QrTokenResolver qrTokenResolver,
+                        TableRateLimiter rateLimiter,
+                        RateLimitProperties rateLimitProperties,
+                        RestaurantTableRepository tableRepository,
                         MenuItemRepository menuItemRepository,
+                        MenuSnapshotCache menuSnapshotCache,
                         CustomerOrderRepository orderRepository,
-                        OrderItemRepository orderItemRepository) {
+                        OrderItemRepository orderItemRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        HotPathMetrics metrics,
+                        StageTracer tracer,
+                        OrderIdAllocator idAllocator,
+                        PlatformTransactionManager transactionManager) {
+        this.qrTokenResolver = qrTokenResolver;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
         this.tableRepository = tableRepository;
         this.menuItemRepository = menuItemRepository;
+        this.menuSnapshotCache = menuSnapshotCache;
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.tracer = tracer;
+        this.idAllocator = idAllocator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-    @Transactional
     public SubmitOrderResponse submitOrder(String qrToken, SubmitOrderRequest request) {
-        log.info("Submit order request received. qrToken={}, itemsCount={}", qrToken, request.items().size());
+        log.debug("Submit order request received. qrToken={}, itemsCount={}", qrToken, request.items().size());
+
+        // 1) Resolve table by QR (cached; unknown tokens never reach the DB)
+        ResolvedTable resolved = qrTokenResolver.resolveActive(qrToken);
+
+        // timed around the transaction so the commit (where the row locks are released) is included
+        return metrics.time("orders.submit", resolved.restaurantId(), () -> admitAndSubmit(qrToken, resolved, request));
+    }
+
+    private SubmitOrderResponse admitAndSubmit(String qrToken, ResolvedTable resolved, SubmitOrderRequest request) {
+        // 2) Rate limit: one order per window per table, checked before any lock is taken
+        TableRateLimiter.Permit permit = rateLimiter.tryAcquire(resolved.tableId(), TableAction.ORDER)
+                .orElseThrow(() -> {
+                    log.warn("Rate limit violated. tableId={}", resolved.tableId());
+                    return new RateLimitException("Only one order per minute is allowed for this table");
+                });
+        try {
+            // ids first: a new id block must not be fetched while this request holds a connection and the table lock
+            long orderId = idAllocator.nextOrderId();
+            List<Long> itemIds = idAllocator.nextOrderItemIds(request.items().size());
+
+            return transactionTemplate.execute(status -> submit(qrToken, resolved, orderId, itemIds, request));
+        } catch (RuntimeException e) {
+            // validation errors / rollback must not cost the table its slot
+            rateLimiter.release(permit);
+            throw e;
+        }
+    }
 
-        // 1) Resolve table by QR
-        RestaurantTable table = tableRepository.findActiveByQrTokenForUpdate(qrToken)
+    private SubmitOrderResponse submit(String qrToken, ResolvedTable resolved, long orderId, List<Long> itemIds,
+                                       SubmitOrderRequest request) {
+        // lock the table row; the cache may be stale, the locked row is the truth
+        RestaurantTable table = tracer.stage("table_lock", () -> metrics.time("tables.lock.wait", resolved.restaurantId(),
+                        Tags.of("action", "order"), () -> tableRepository.findActiveByIdForUpdate(resolved.tableId())))
                 .orElseThrow(() -> {
                     log.warn("Invalid/inactive QR token on submit order. qrToken={}", qrToken);
+                    qrTokenResolver.evict(qrToken);
                     return new ResourceNotFoundException("Invalid or inactive QR token");
                 });
 
@@ -57,9 +126,10 @@ public class OrderService {
             throw new BusinessRuleException("Restaurant is inactive");
         }
 
-        // 2) Rate limit: one order per minute per table
-        Instant threshold = Instant.now().minusSeconds(60);
-        boolean rateLimited = orderRepository.existsByTableIdAndCreatedAtAfter(table.getId(), threshold);
+        // DB check behind the lock stays authoritative (other instances, restarts)
+        Instant threshold = Instant.now().minus(rateLimitProperties.orderWindow());
+        boolean rateLimited = tracer.stage("rate_limit_check",
+                () -> orderRepository.existsByTableIdAndCreatedAtAfter(table.getId(), threshold));
         if (rateLimited) {
             log.warn("Rate limit violated. tableId={}, threshold={}", table.getId(), threshold);
             throw new RateLimitException("Only one order per minute is allowed for this table");
@@ -68,62 +138,36 @@ public class OrderService {
 
         Long restaurantId = restaurant.getId();
 
-        // 3) Load all requested menu items (must belong to same restaurant)
-        List<Long> requestedIds = request.items().stream()
-                .map(SubmitOrderItemRequest::menuItemId)
-                .distinct()
-                .toList();
+        // 3) Validate items against the in-memory menu (active + available items, invalidated on every change)
+        tracer.stage("menu_validation", () -> validateItems(restaurantId, request));
 
-        List<MenuItem> foundItems = menuItemRepository.findByIdInAndRestaurantIdAndIsActiveTrue(requestedIds, restaurantId);
+        // 4) Price from the rows: the snapshot of this instance can miss a change made on another one
+        Map<Long, MenuItemDto> items = tracer.stage("menu_prices", () -> currentItems(restaurantId, request));
 
-        Map<Long, MenuItem> itemsById = foundItems.stream()
-                .collect(Collectors.toMap(MenuItem::getId, it -> it));
-
-        // 4) Validate each requested item exists + available + active
-        for (Long id : requestedIds) {
-            MenuItem mi = itemsById.get(id);
-            if (mi == null) {
-                log.warn("Menu item not found or not in restaurant. menuItemId={}, restaurantId={}", id, restaurantId);
-                throw new ResourceNotFoundException("Menu item not found: " + id);
-            }
-            if (!mi.isActive()) {
-                log.warn("Menu item inactive. menuItemId={}", id);
-                throw new BusinessRuleException("Menu item is inactive: " + id);
-            }
-            if (!mi.isAvailable()) {
-                log.warn("Menu item not available. menuItemId={}", id);
-                throw new BusinessRuleException("Menu item is not available: " + id);
-            }
-        }
-
-        // 5) Create order + calculate totals from DB prices (snapshot)
         CustomerOrder order = new CustomerOrder();
+        order.setId(orderId);
         order.setRestaurant(restaurant);
         order.setTable(table);
         order.setNote(request.note());
         order.setStatus(OrderStatus.NEW);
         order.setSentToKitchenAt(null);
 
-
         BigDecimal totalAmount = BigDecimal.ZERO;
+        List<OrderItem> orderItems = new ArrayList<>(request.items().size());
 
-        // We'll create order first to get id (depending on strategy)
-        order.setTotalAmount(BigDecimal.ZERO);
-        CustomerOrder savedOrder = orderRepository.save(order);
+        for (int i = 0; i < request.items().size(); i++) {
+            SubmitOrderItemRequest reqItem = request.items().get(i);
+            MenuItemDto mi = items.get(reqItem.menuItemId());
 
-        List<OrderItem> orderItems = new ArrayList<>();
-
-        for (SubmitOrderItemRequest reqItem : request.items()) {
-            MenuItem mi = itemsById.get(reqItem.menuItemId());
-
-            BigDecimal unitPrice = mi.getPrice(); // snapshot
-            BigDecimal lineTotal = unitPrice.multiply(BigDecimal.valueOf(reqItem.quantity()));
+            BigDecimal unitPrice = mi.price();
+            BigDecimal lineTotal = OrderPricing.lineTotal(unitPrice, reqItem.quantity());
 
             totalAmount = totalAmount.add(lineTotal);
 
             OrderItem oi = new OrderItem();
-            oi.setOrder(savedOrder);
-            oi.setMenuItem(mi);
+            oi.setId(itemIds.get(i));
+            oi.setOrder(order);
+            oi.setMenuItem(menuItemRepository.getReferenceById(mi.id()));
             oi.setQuantity(reqItem.quantity());
             oi.setUnitPrice(unitPrice);
             oi.setTotalPrice(lineTotal);
@@ -131,18 +175,62 @@ public class OrderService {
 
             orderItems.add(oi);
         }
+        order.setTotalAmount(totalAmount);
 
-        orderItemRepository.saveAll(orderItems);
-
-        savedOrder.setTotalAmount(totalAmount);
-        // update total
-        CustomerOrder finalOrder = orderRepository.save(savedOrder);
+        // 5) Ids are assigned: flush here so the order insert and the item batch are measured by the stage
+        CustomerOrder finalOrder = tracer.stage("insert", () -> {
+            CustomerOrder saved = orderRepository.save(order);
+            orderItemRepository.saveAll(orderItems);
+            orderItemRepository.flush();
+            return saved;
+        });
 
         log.info("Order created successfully. orderId={}, tableId={}, restaurantId={}, totalAmount={}",
                 finalOrder.getId(), table.getId(), restaurantId, totalAmount);
 
+        // staff streams are notified after commit
+        eventPublisher.publishEvent(new OrderSubmittedEvent(restaurantId, new OrderSummaryDto(
+                finalOrder.getId(),
+                table.getTableNumber(),
+                finalOrder.getCreatedAt(),
+                finalOrder.getTotalAmount(),
+                finalOrder.getStatus()
+        )));
+
         return new SubmitOrderResponse(finalOrder.getId(), finalOrder.getCreatedAt(), finalOrder.getTotalAmount());
     }
 
+    private MenuSnapshot validateItems(Long restaurantId, SubmitOrderRequest request) {
+        MenuSnapshot menu = menuSnapshotCache.get(restaurantId);
+        for (SubmitOrderItemRequest reqItem : request.items()) {
+            Long id = reqItem.menuItemId();
+            if (menu.itemsById().containsKey(id)) {
+                continue;
+            }
+            if (menu.isUnavailable(id)) {
+                log.warn("Menu item not available. menuItemId={}", id);
+                throw new BusinessRuleException("Menu item is not available: " + id);
+            }
+            log.warn("Menu item not found or not in restaurant. menuItemId={}, restaurantId={}", id, restaurantId);
+            throw new ResourceNotFoundException("Menu item not found: " + id);
+        }
+        return menu;
+    }
+
+    private Map<Long, MenuItemDto> currentItems(Long restaurantId, SubmitOrderRequest request) {
+        Set<Long> ids = new HashSet<>();
+        request.items().forEach(reqItem -> ids.add(reqItem.menuItemId()));
+        Map<Long, MenuItemDto> items = new HashMap<>();
+        menuItemRepository.findItemDtos(restaurantId, ids).forEach(mi -> items.put(mi.id(), mi));
+        for (Long id : ids) {
+            MenuItemDto mi = items.get(id);
+            if (mi == null || !mi.isAvailable()) {
+                log.warn("Menu item changed after the menu snapshot. menuItemId={}, restaurantId={}", id, restaurantId);
+                throw new BusinessRuleException("Menu item is not available: " + id);
+            }
+        }
+        return items;
+    }
+
 }
 
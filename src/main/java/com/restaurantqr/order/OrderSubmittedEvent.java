@@ -0,0 +1,8 @@
+package com.restaurantqr.order;
+
+import com.restaurantqr.order.staff.OrderSummaryDto;
+
+/**
+ * Published inside the submit transaction; listeners act after commit.
+ */
+public record OrderSubmittedEvent(Long restaurantId, OrderSummaryDto order) {}
@@ -1,13 +1,25 @@
 package com.restaurantqr.order;
 
+import com.restaurantqr.order.intake.OrderIntakeStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 @Schema(description = "Order creation response")
 public record SubmitOrderResponse(
-        @Schema(example = "101") Long orderId,
+        @Schema(description = "Order ID; for a PENDING order it is reserved and the order exists once PERSISTED", example = "101") Long orderId,
         @Schema(example = "2026-01-07T21:15:30.123Z") Instant createdAt,
-        @Schema(example = "12.50") BigDecimal totalAmount
-) {}
\ No newline at end of file
+        @Schema(description = "Order total; for a PENDING order it comes from the cached menu and is final once PERSISTED",
+                example = "12.50") BigDecimal totalAmount,
+        @Schema(description = "Intake ticket, set when the order went through the intake queue or carried an Idempotency-Key",
+                example = "3f2b8c1e-6d1a-4c0e-9a57-0b6f0c1d2e3f") UUID ticketId,
+        @Schema(description = "PENDING (queued), PERSISTED (stored) or FAILED", example = "PERSISTED") OrderIntakeStatus status,
+        @Schema(description = "Failure reason when status is FAILED", example = "Menu item not found: 42") String error
+) {
+
+    public SubmitOrderResponse(Long orderId, Instant createdAt, BigDecimal totalAmount) {
+        this(orderId, createdAt, totalAmount, null, OrderIntakeStatus.PERSISTED, null);
+    }
+}
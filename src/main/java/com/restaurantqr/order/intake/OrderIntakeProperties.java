@@ -0,0 +1,22 @@
+package com.restaurantqr.order.intake;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.orders.intake")
+public record OrderIntakeProperties(
+        Mode mode,
+        int queueCapacity,
+        int batchSize,
+        Duration ticketTtl,
+        long maxTickets
+) {
+
+    public enum Mode {
+        /** Orders are written inside the request (table lock, 201 Created). */
+        SYNC,
+        /** Orders are validated against the cached menu, queued and written in batches (202 Accepted). */
+        ASYNC
+    }
+}
@@ -0,0 +1,189 @@
+package com.restaurantqr.order.intake;
+
+import com.restaurantqr.exception.BusinessRuleException;
+import com.restaurantqr.exception.RateLimitException;
+import com.restaurantqr.exception.ResourceNotFoundException;
+import com.restaurantqr.menu.MenuItemDto;
+import com.restaurantqr.menu.MenuSnapshot;
+import com.restaurantqr.menu.MenuSnapshotCache;
+import com.restaurantqr.order.OrderIdAllocator;
+import com.restaurantqr.order.OrderPricing;
+import com.restaurantqr.order.OrderService;
+import com.restaurantqr.order.SubmitOrderItemRequest;
+import com.restaurantqr.order.SubmitOrderRequest;
+import com.restaurantqr.order.SubmitOrderResponse;
+import com.restaurantqr.ratelimit.TableAction;
+import com.restaurantqr.ratelimit.TableRateLimiter;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.ResolvedTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entry point for order submissions.
+ *
+ * - SYNC mode without Idempotency-Key: plain {@link OrderService#submitOrder}.
+ * - ASYNC mode: the order is checked against the cached menu, priced, given its id, queued and answered with
+ *   a PENDING ticket; {@link OrderIntakeWriter} re-checks the table and the menu rows, prices the order from
+ *   the rows and stores it. A full queue falls back to the synchronous path.
+ * - With an Idempotency-Key a repeated submission returns the ticket of the first one instead of a new order.
+ */
+@Service
+public class OrderIntakeService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeService.class);
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    private final OrderIntakeProperties props;
+    private final OrderService orderService;
+    private final OrderIntakeWriter writer;
+    private final OrderTicketStore ticketStore;
+    private final QrTokenResolver qrTokenResolver;
+    private final TableRateLimiter rateLimiter;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final OrderIdAllocator idAllocator;
+    private final Counter queueFullFallbacks;
+
+    public OrderIntakeService(OrderIntakeProperties props,
+                              OrderService orderService,
+                              OrderIntakeWriter writer,
+                              OrderTicketStore ticketStore,
+                              QrTokenResolver qrTokenResolver,
+                              TableRateLimiter rateLimiter,
+                              MenuSnapshotCache menuSnapshotCache,
+                              OrderIdAllocator idAllocator,
+                              MeterRegistry meterRegistry) {
+        this.props = props;
+        this.orderService = orderService;
+        this.writer = writer;
+        this.ticketStore = ticketStore;
+        this.qrTokenResolver = qrTokenResolver;
+        this.rateLimiter = rateLimiter;
+        this.menuSnapshotCache = menuSnapshotCache;
+        this.idAllocator = idAllocator;
+        this.queueFullFallbacks = Counter.builder("orders.intake.fallback")
+                .description("Orders written synchronously because the intake queue was full")
+                .register(meterRegistry);
+    }
+
+    public SubmitOrderResponse submit(String qrToken, String idempotencyKey, SubmitOrderRequest request) {
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        if (!keyed && props.mode() == OrderIntakeProperties.Mode.SYNC) {
+            return orderService.submitOrder(qrToken, request);
+        }
+        if (keyed && idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new BusinessRuleException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        OrderTicket ticket = OrderTicket.pending(UUID.randomUUID(), qrToken);
+        if (keyed) {
+            OrderTicket existing = ticketStore.claim(qrToken, idempotencyKey, ticket);
+            if (existing != null) {
+                log.info("Repeated order submission. qrToken={}, ticketId={}, status={}",
+                        qrToken, existing.ticketId(), existing.status());
+                return existing.toResponse();
+            }
+        } else {
+            ticketStore.put(ticket);
+        }
+
+        try {
+            if (props.mode() == OrderIntakeProperties.Mode.ASYNC) {
+                OrderTicket queued = enqueue(ticket, qrToken, request);
+                if (queued != null) {
+                    return queued.toResponse();
+                }
+            }
+            SubmitOrderResponse stored = orderService.submitOrder(qrToken, request);
+            OrderTicket persisted = ticket.persisted(stored.orderId(), stored.createdAt(), stored.totalAmount());
+            ticketStore.put(persisted);
+            return persisted.toResponse();
+        } catch (RuntimeException e) {
+            ticketStore.forget(ticket, keyed ? idempotencyKey : null);
+            throw e;
+        }
+    }
+
+    public SubmitOrderResponse getTicket(String qrToken, UUID ticketId) {
+        return ticketStore.get(ticketId)
+                .filter(ticket -> ticket.qrToken().equals(qrToken))
+                .map(OrderTicket::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Order ticket not found: " + ticketId));
+    }
+
+    /**
+     * @return the queued ticket, or null when the queue is full and the order has to be written synchronously
+     */
+    private OrderTicket enqueue(OrderTicket ticket, String qrToken, SubmitOrderRequest request) {
+        ResolvedTable table = qrTokenResolver.resolveActive(qrToken);
+
+        TableRateLimiter.Permit permit = rateLimiter.tryAcquire(table.tableId(), TableAction.ORDER)
+                .orElseThrow(() -> {
+                    log.warn("Rate limit violated. tableId={}", table.tableId());
+                    return new RateLimitException("Only one order per minute is allowed for this table");
+                });
+
+        PendingOrder pending;
+        try {
+            pending = price(ticket, table, permit, request);
+        } catch (RuntimeException e) {
+            rateLimiter.release(permit);
+            throw e;
+        }
+
+        OrderTicket priced = ticket.priced(pending.orderId(), pending.totalAmount());
+        ticketStore.put(priced);
+
+        if (!writer.offer(pending)) {
+            // the synchronous path takes its own permit
+            rateLimiter.release(permit);
+            queueFullFallbacks.increment();
+            log.warn("Order intake queue full, writing synchronously. tableId={}", table.tableId());
+            return null;
+        }
+
+        log.info("Order queued. orderId={}, ticketId={}, tableId={}, restaurantId={}, totalAmount={}",
+                pending.orderId(), ticket.ticketId(), table.tableId(), table.restaurantId(), pending.totalAmount());
+        return priced;
+    }
+
+    private PendingOrder price(OrderTicket ticket, ResolvedTable table, TableRateLimiter.Permit permit,
+                               SubmitOrderRequest request) {
+        // the snapshot only holds active + available items and is invalidated on every menu change of this
+        // instance; the price is an estimate for the 202, the writer prices the stored order from the rows
+        MenuSnapshot menu = menuSnapshotCache.get(table.restaurantId());
+
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        List<PendingOrder.Line> lines = new ArrayList<>(request.items().size());
+
+        for (SubmitOrderItemRequest reqItem : request.items()) {
+            MenuItemDto mi = menu.itemsById().get(reqItem.menuItemId());
+            if (mi == null && menu.isUnavailable(reqItem.menuItemId())) {
+                throw new BusinessRuleException("Menu item is not available: " + reqItem.menuItemId());
+            }
+            if (mi == null) {
+                log.warn("Menu item not found or not available. menuItemId={}, restaurantId={}",
+                        reqItem.menuItemId(), table.restaurantId());
+                throw new ResourceNotFoundException("Menu item not found or not available: " + reqItem.menuItemId());
+            }
+
+            BigDecimal lineTotal = OrderPricing.lineTotal(mi.price(), reqItem.quantity());
+            totalAmount = totalAmount.add(lineTotal);
+            lines.add(new PendingOrder.Line(mi.id(), reqItem.quantity(), mi.price(), lineTotal, reqItem.note()));
+        }
+
+        // the id comes from the pooled generator, so the 202 can carry it; the writer inserts it as is
+        long orderId = idAllocator.nextOrderId();
+        return new PendingOrder(ticket.ticketId(), ticket.qrToken(), orderId, table.restaurantId(), table.tableId(),
+                table.tableNumber(), request.note(), List.copyOf(lines), totalAmount, permit);
+    }
+}
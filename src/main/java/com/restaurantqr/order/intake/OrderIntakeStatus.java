@@ -0,0 +1,7 @@
+package com.restaurantqr.order.intake;
+
+public enum OrderIntakeStatus {
+    PENDING,
+    PERSISTED,
+    FAILED
+}
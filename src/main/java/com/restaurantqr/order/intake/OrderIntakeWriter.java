@@ -0,0 +1,344 @@
+package com.restaurantqr.order.intake;
+
+import com.restaurantqr.menu.MenuItemDto;
+import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.order.CustomerOrder;
+import com.restaurantqr.order.CustomerOrderRepository;
+import com.restaurantqr.order.OrderIdAllocator;
+import com.restaurantqr.order.OrderItem;
+import com.restaurantqr.order.OrderItemRepository;
+import com.restaurantqr.order.OrderPricing;
+import com.restaurantqr.order.OrderSubmittedEvent;
+import com.restaurantqr.order.staff.OrderStatus;
+import com.restaurantqr.order.staff.OrderSummaryDto;
+import com.restaurantqr.ratelimit.RateLimitProperties;
+import com.restaurantqr.ratelimit.TableRateLimiter;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.RestaurantTable;
+import com.restaurantqr.table.RestaurantTableRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind for the intake queue.
+ *
+ * A single thread drains whatever is queued (up to {@code batch-size}) and writes it in one
+ * transaction, so orders and items go out as JDBC batches. Inside that transaction every order passes
+ * the same table / restaurant / menu / rate-limit checks as a synchronous submit and is priced from
+ * the menu rows; orders that fail a check are marked FAILED with the reason. If a batch fails, its orders are retried one by one and only the
+ * failing ones are marked FAILED.
+ */
+@Component
+public class OrderIntakeWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeWriter.class);
+
+    private final OrderIntakeProperties props;
+    private final TransactionTemplate transactionTemplate;
+    private final RestaurantTableRepository tableRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final CustomerOrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderTicketStore ticketStore;
+    private final TableRateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
+    private final QrTokenResolver qrTokenResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderIdAllocator idAllocator;
+    private final Counter failedOrders;
+
+    private final BlockingQueue<PendingOrder> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public OrderIntakeWriter(OrderIntakeProperties props,
+                             PlatformTransactionManager transactionManager,
+                             RestaurantTableRepository tableRepository,
+                             MenuItemRepository menuItemRepository,
+                             CustomerOrderRepository orderRepository,
+                             OrderItemRepository orderItemRepository,
+                             OrderTicketStore ticketStore,
+                             TableRateLimiter rateLimiter,
+                             RateLimitProperties rateLimitProperties,
+                             QrTokenResolver qrTokenResolver,
+                             ApplicationEventPublisher eventPublisher,
+                             OrderIdAllocator idAllocator,
+                             MeterRegistry meterRegistry) {
+        this.props = props;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tableRepository = tableRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.ticketStore = ticketStore;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
+        this.qrTokenResolver = qrTokenResolver;
+        this.eventPublisher = eventPublisher;
+        this.idAllocator = idAllocator;
+        this.queue = new ArrayBlockingQueue<>(props.queueCapacity());
+
+        this.failedOrders = Counter.builder("orders.intake.failed")
+                .description("Queued orders that could not be written")
+                .register(meterRegistry);
+        Gauge.builder("orders.intake.queue", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet written")
+                .register(meterRegistry);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("order-intake-");
+        this.writer = threadFactory.newThread(this::run);
+        if (props.mode() == OrderIntakeProperties.Mode.ASYNC) {
+            writer.start();
+        }
+    }
+
+    /**
+     * @return false when the queue is full (or shutting down); the caller falls back to a synchronous write
+     */
+    boolean offer(PendingOrder order) {
+        return running && writer.isAlive() && queue.offer(order);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer.isAlive()) {
+            // let the queued orders reach the DB before the datasource goes away
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (!queue.isEmpty()) {
+            log.error("Order intake stopped with unwritten orders. count={}", queue.size());
+        }
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(props.batchSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, props.batchSize() - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake writer error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        Map<PendingOrder, List<Long>> itemIds;
+        try {
+            itemIds = reserveItemIds(batch);
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> markFailed(pending, e));
+            return;
+        }
+        try {
+            Map<PendingOrder, Outcome> outcomes = transactionTemplate.execute(status -> persist(batch, itemIds));
+            outcomes.forEach(this::complete);
+            log.info("Order intake batch written. count={}", batch.size());
+        } catch (RuntimeException batchError) {
+            if (batch.size() == 1) {
+                markFailed(batch.get(0), batchError);
+                return;
+            }
+            log.warn("Order intake batch failed, retrying one by one. count={}", batch.size(), batchError);
+            for (PendingOrder pending : batch) {
+                try {
+                    transactionTemplate.execute(status -> persist(List.of(pending), itemIds)).forEach(this::complete);
+                } catch (RuntimeException e) {
+                    markFailed(pending, e);
+                }
+            }
+        }
+    }
+
+    // before the transactions that use them, see OrderIdAllocator; a one by one retry reuses them
+    private Map<PendingOrder, List<Long>> reserveItemIds(List<PendingOrder> batch) {
+        Map<PendingOrder, List<Long>> ids = new IdentityHashMap<>(batch.size());
+        for (PendingOrder pending : batch) {
+            ids.put(pending, idAllocator.nextOrderItemIds(pending.lines().size()));
+        }
+        return ids;
+    }
+
+    /**
+     * Repeats the admission checks of the synchronous path behind the table row locks: the request only
+     * passed the in-memory limiter, which knows nothing of other instances or of orders before a restart.
+     * All checks run before the first save, so the exists query never auto-flushes half a batch.
+     */
+    private Map<PendingOrder, Outcome> persist(List<PendingOrder> batch, Map<PendingOrder, List<Long>> itemIds) {
+        Map<PendingOrder, Outcome> outcomes = new IdentityHashMap<>(batch.size());
+        Map<PendingOrder, RestaurantTable> admitted = new IdentityHashMap<>(batch.size());
+        Set<Long> tables = new HashSet<>();
+        Instant threshold = Instant.now().minus(rateLimitProperties.orderWindow());
+        Map<Long, Map<Long, MenuItemDto>> menus = currentItems(batch);
+
+        // locks are taken in table id order, so writers on two instances cannot deadlock
+        List<PendingOrder> byTable = batch.stream().sorted(Comparator.comparing(PendingOrder::tableId)).toList();
+        for (PendingOrder pending : byTable) {
+            RestaurantTable table = tableRepository.findActiveByIdForUpdate(pending.tableId()).orElse(null);
+            if (table == null) {
+                qrTokenResolver.evict(pending.qrToken());
+                outcomes.put(pending, Outcome.rejected("Invalid or inactive QR token"));
+            } else if (!table.getRestaurant().isActive()) {
+                outcomes.put(pending, Outcome.rejected("Restaurant is inactive"));
+            } else if (unavailableItem(pending, menus) != null) {
+                outcomes.put(pending, Outcome.rejected("Menu item is not available: " + unavailableItem(pending, menus)));
+            } else if (!tables.add(table.getId())
+                    || orderRepository.existsByTableIdAndCreatedAtAfter(table.getId(), threshold)) {
+                outcomes.put(pending, Outcome.rejected("Only one order per minute is allowed for this table"));
+            } else {
+                admitted.put(pending, table);
+            }
+        }
+
+        List<CustomerOrder> orders = new ArrayList<>(admitted.size());
+        List<OrderItem> items = new ArrayList<>();
+        for (PendingOrder pending : batch) {
+            RestaurantTable table = admitted.get(pending);
+            if (table == null) {
+                continue;
+            }
+            CustomerOrder order = new CustomerOrder();
+            order.setId(pending.orderId());
+            order.setRestaurant(table.getRestaurant());
+            order.setTable(table);
+            order.setNote(pending.note());
+            order.setStatus(OrderStatus.NEW);
+            orders.add(order);
+            outcomes.put(pending, Outcome.persisted(order));
+
+            // priced again from the rows; the queued price came from the menu snapshot of the accepting instance
+            Map<Long, MenuItemDto> menu = menus.get(pending.restaurantId());
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            List<Long> ids = itemIds.get(pending);
+            for (int i = 0; i < pending.lines().size(); i++) {
+                PendingOrder.Line line = pending.lines().get(i);
+                BigDecimal unitPrice = menu.get(line.menuItemId()).price();
+                BigDecimal lineTotal = OrderPricing.lineTotal(unitPrice, line.quantity());
+                totalAmount = totalAmount.add(lineTotal);
+
+                OrderItem oi = new OrderItem();
+                oi.setId(ids.get(i));
+                oi.setOrder(order);
+                oi.setMenuItem(menuItemRepository.getReferenceById(line.menuItemId()));
+                oi.setQuantity(line.quantity());
+                oi.setUnitPrice(unitPrice);
+                oi.setTotalPrice(lineTotal);
+                oi.setNote(line.note());
+                items.add(oi);
+            }
+            order.setTotalAmount(totalAmount);
+        }
+
+        orderRepository.saveAll(orders);
+        orderItemRepository.saveAll(items);
+
+        // staff streams are notified after commit
+        outcomes.forEach((pending, outcome) -> {
+            CustomerOrder order = outcome.order();
+            if (order != null) {
+                eventPublisher.publishEvent(new OrderSubmittedEvent(pending.restaurantId(), new OrderSummaryDto(
+                        order.getId(),
+                        pending.tableNumber(),
+                        order.getCreatedAt(),
+                        order.getTotalAmount(),
+                        order.getStatus()
+                )));
+            }
+        });
+        return outcomes;
+    }
+
+    // current price and availability of every item in the batch, one query per restaurant
+    private Map<Long, Map<Long, MenuItemDto>> currentItems(List<PendingOrder> batch) {
+        Map<Long, Set<Long>> idsByRestaurant = new HashMap<>();
+        for (PendingOrder pending : batch) {
+            Set<Long> ids = idsByRestaurant.computeIfAbsent(pending.restaurantId(), id -> new HashSet<>());
+            pending.lines().forEach(line -> ids.add(line.menuItemId()));
+        }
+        Map<Long, Map<Long, MenuItemDto>> menus = new HashMap<>();
+        idsByRestaurant.forEach((restaurantId, ids) -> {
+            Map<Long, MenuItemDto> items = new HashMap<>();
+            menuItemRepository.findItemDtos(restaurantId, ids).forEach(mi -> items.put(mi.id(), mi));
+            menus.put(restaurantId, items);
+        });
+        return menus;
+    }
+
+    private static Long unavailableItem(PendingOrder pending, Map<Long, Map<Long, MenuItemDto>> menus) {
+        Map<Long, MenuItemDto> menu = menus.get(pending.restaurantId());
+        for (PendingOrder.Line line : pending.lines()) {
+            MenuItemDto mi = menu.get(line.menuItemId());
+            if (mi == null || !mi.isAvailable()) {
+                return line.menuItemId();
+            }
+        }
+        return null;
+    }
+
+    private void complete(PendingOrder pending, Outcome outcome) {
+        if (outcome.order() != null) {
+            CustomerOrder order = outcome.order();
+            ticketStore.get(pending.ticketId()).ifPresent(ticket ->
+                    ticketStore.put(ticket.persisted(order.getId(), order.getCreatedAt(), order.getTotalAmount())));
+            return;
+        }
+        failedOrders.increment();
+        log.warn("Queued order rejected. orderId={}, ticketId={}, tableId={}, reason={}",
+                pending.orderId(), pending.ticketId(), pending.tableId(), outcome.rejection());
+        rateLimiter.release(pending.permit());
+        ticketStore.get(pending.ticketId()).ifPresent(ticket -> ticketStore.put(ticket.failed(outcome.rejection())));
+    }
+
+    private void markFailed(PendingOrder pending, RuntimeException e) {
+        failedOrders.increment();
+        log.error("Queued order could not be written. ticketId={}, tableId={}", pending.ticketId(), pending.tableId(), e);
+        rateLimiter.release(pending.permit());
+        ticketStore.get(pending.ticketId()).ifPresent(ticket ->
+                ticketStore.put(ticket.failed("Order could not be stored, please submit again")));
+    }
+
+    private record Outcome(CustomerOrder order, String rejection) {
+
+        static Outcome persisted(CustomerOrder order) {
+            return new Outcome(order, null);
+        }
+
+        static Outcome rejected(String reason) {
+            return new Outcome(null, reason);
+        }
+    }
+}
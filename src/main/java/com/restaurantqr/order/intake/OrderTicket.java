@@ -0,0 +1,41 @@
+package com.restaurantqr.order.intake;
+
+import com.restaurantqr.order.SubmitOrderResponse;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Intake state of one order submission, kept in memory for {@code app.orders.intake.ticket-ttl}.
+ */
+record OrderTicket(
+        UUID ticketId,
+        String qrToken,
+        OrderIntakeStatus status,
+        Long orderId,
+        Instant createdAt,
+        BigDecimal totalAmount,
+        String error
+) {
+
+    static OrderTicket pending(UUID ticketId, String qrToken) {
+        return new OrderTicket(ticketId, qrToken, OrderIntakeStatus.PENDING, null, null, null, null);
+    }
+
+    OrderTicket priced(Long orderId, BigDecimal totalAmount) {
+        return new OrderTicket(ticketId, qrToken, status, orderId, createdAt, totalAmount, error);
+    }
+
+    OrderTicket persisted(Long orderId, Instant createdAt, BigDecimal totalAmount) {
+        return new OrderTicket(ticketId, qrToken, OrderIntakeStatus.PERSISTED, orderId, createdAt, totalAmount, null);
+    }
+
+    OrderTicket failed(String error) {
+        return new OrderTicket(ticketId, qrToken, OrderIntakeStatus.FAILED, null, null, totalAmount, error);
+    }
+
+    SubmitOrderResponse toResponse() {
+        return new SubmitOrderResponse(orderId, createdAt, totalAmount, ticketId, status, error);
+    }
+}
@@ -0,0 +1,78 @@
+package com.restaurantqr.order.intake;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Intake tickets by id plus the Idempotency-Key index (scoped per QR token).
+ * Both are bounded and expire after {@code app.orders.intake.ticket-ttl}.
+ */
+@Component
+public class OrderTicketStore {
+
+    private final Cache<UUID, OrderTicket> tickets;
+    private final Cache<String, UUID> idempotencyKeys;
+
+    public OrderTicketStore(OrderIntakeProperties props, MeterRegistry meterRegistry) {
+        this.tickets = Caffeine.newBuilder()
+                .maximumSize(props.maxTickets())
+                .expireAfterWrite(props.ticketTtl())
+                .recordStats()
+                .build();
+        this.idempotencyKeys = Caffeine.newBuilder()
+                .maximumSize(props.maxTickets())
+                .expireAfterWrite(props.ticketTtl())
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tickets, "orders.intake.tickets");
+    }
+
+    Optional<OrderTicket> get(UUID ticketId) {
+        return Optional.ofNullable(tickets.getIfPresent(ticketId));
+    }
+
+    void put(OrderTicket ticket) {
+        tickets.put(ticket.ticketId(), ticket);
+    }
+
+    /**
+     * Stores {@code ticket} under the idempotency key unless the key is already taken.
+     *
+     * @return the ticket that owns the key when this is a repeated submission, otherwise null
+     */
+    OrderTicket claim(String qrToken, String idempotencyKey, OrderTicket ticket) {
+        put(ticket);
+        String key = scope(qrToken, idempotencyKey);
+        UUID owner = idempotencyKeys.asMap().putIfAbsent(key, ticket.ticketId());
+        if (owner == null) {
+            return null;
+        }
+        OrderTicket previous = tickets.getIfPresent(owner);
+        if (previous != null && previous.status() == OrderIntakeStatus.FAILED
+                && idempotencyKeys.asMap().replace(key, owner, ticket.ticketId())) {
+            // a failed write must not block the retry
+            return null;
+        }
+        tickets.invalidate(ticket.ticketId());
+        // the owner may be gone already (expired / failed); report it as pending until the key expires
+        return get(owner).orElse(OrderTicket.pending(owner, qrToken));
+    }
+
+    /** Drops a ticket whose submission was rejected, so the client can retry with the same key. */
+    void forget(OrderTicket ticket, String idempotencyKey) {
+        tickets.invalidate(ticket.ticketId());
+        if (idempotencyKey != null) {
+            idempotencyKeys.asMap().remove(scope(ticket.qrToken(), idempotencyKey), ticket.ticketId());
+        }
+    }
+
+    private static String scope(String qrToken, String idempotencyKey) {
+        return qrToken + ":" + idempotencyKey;
+    }
+}
@@ -0,0 +1,26 @@
+package com.restaurantqr.order.intake;
+
+import com.restaurantqr.ratelimit.TableRateLimiter;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order accepted by the intake queue: validated, priced and given its id, not yet written.
+ */
+record PendingOrder(
+        UUID ticketId,
+        String qrToken,
+        long orderId,
+        Long restaurantId,
+        Long tableId,
+        Integer tableNumber,
+        String note,
+        List<Line> lines,
+        BigDecimal totalAmount,
+        TableRateLimiter.Permit permit
+) {
+
+    record Line(Long menuItemId, int quantity, BigDecimal unitPrice, BigDecimal totalPrice, String note) {}
+}
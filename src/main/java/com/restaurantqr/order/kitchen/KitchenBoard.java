@@ -0,0 +1,137 @@
+package com.restaurantqr.order.kitchen;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * One restaurant's kitchen board. Per-item rollups are updated as orders are added and removed,
+ * so a read only copies the current totals. All access is synchronized on the board; there is one
+ * board per restaurant and updates are a handful of lines each.
+ */
+final class KitchenBoard {
+
+    private final Map<Long, List<KitchenLine>> orders = new HashMap<>();
+    private final Map<Long, ItemRollup> items = new HashMap<>();
+    // removals seen before the load, so a stale snapshot cannot bring them back
+    private final Set<Long> removedBeforeLoad = new HashSet<>();
+    private boolean loaded;
+    // bumped by unload(), so a snapshot read before it is not applied after it
+    private long generation;
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Applies a snapshot read after {@link #generation()} returned {@code readAt}.
+     *
+     * @return false when the board was loaded or unloaded in the meantime
+     */
+    synchronized boolean load(long readAt, List<KitchenLine> snapshot) {
+        if (loaded || readAt != generation) {
+            return false;
+        }
+        Map<Long, List<KitchenLine>> byOrder = new LinkedHashMap<>();
+        for (KitchenLine line : snapshot) {
+            byOrder.computeIfAbsent(line.orderId(), id -> new ArrayList<>()).add(line);
+        }
+        byOrder.forEach((orderId, lines) -> {
+            if (!removedBeforeLoad.contains(orderId)) {
+                addOrder(orderId, lines);
+            }
+        });
+        removedBeforeLoad.clear();
+        loaded = true;
+        return true;
+    }
+
+    /**
+     * Forgets everything; the next read loads the board again. Events keep being applied meanwhile.
+     */
+    synchronized void unload() {
+        orders.clear();
+        items.clear();
+        removedBeforeLoad.clear();
+        loaded = false;
+        generation++;
+    }
+
+    synchronized void addOrder(Long orderId, List<KitchenLine> lines) {
+        if (lines.isEmpty() || orders.putIfAbsent(orderId, List.copyOf(lines)) != null) {
+            return;
+        }
+        for (KitchenLine line : lines) {
+            items.computeIfAbsent(line.menuItemId(), id -> new ItemRollup(line.itemName())).add(line);
+        }
+    }
+
+    synchronized void removeOrder(Long orderId) {
+        if (!loaded) {
+            removedBeforeLoad.add(orderId);
+        }
+        List<KitchenLine> lines = orders.remove(orderId);
+        if (lines == null) {
+            return;
+        }
+        for (KitchenLine line : lines) {
+            ItemRollup rollup = items.get(line.menuItemId());
+            if (rollup != null && rollup.remove(line)) {
+                items.remove(line.menuItemId());
+            }
+        }
+    }
+
+    synchronized void removeSentBefore(Instant cutoff) {
+        List<Long> stale = orders.entrySet().stream()
+                .filter(e -> e.getValue().get(0).sentToKitchenAt().isBefore(cutoff))
+                .map(Map.Entry::getKey)
+                .toList();
+        stale.forEach(this::removeOrder);
+    }
+
+    synchronized KitchenBoardResponse snapshot() {
+        List<KitchenBoardItem> result = new ArrayList<>(items.size());
+        items.forEach((menuItemId, rollup) -> result.add(rollup.toItem(menuItemId)));
+        result.sort(Comparator.comparingInt(KitchenBoardItem::totalQuantity).reversed()
+                .thenComparing(KitchenBoardItem::itemName));
+        return new KitchenBoardResponse(result, orders.size(), Instant.now());
+    }
+
+    private static final class ItemRollup {
+        private final String itemName;
+        private final List<KitchenLine> lines = new ArrayList<>();
+        private int totalQuantity;
+
+        ItemRollup(String itemName) {
+            this.itemName = itemName;
+        }
+
+        void add(KitchenLine line) {
+            lines.add(line);
+            totalQuantity += line.quantity();
+        }
+
+        /**
+         * @return true when no lines are left
+         */
+        boolean remove(KitchenLine line) {
+            if (lines.remove(line)) {
+                totalQuantity -= line.quantity();
+            }
+            return lines.isEmpty();
+        }
+
+        KitchenBoardItem toItem(Long menuItemId) {
+            List<KitchenBoardEntry> entries = lines.stream()
+                    .sorted(Comparator.comparing(KitchenLine::sentToKitchenAt).thenComparing(KitchenLine::orderId))
+                    .map(l -> new KitchenBoardEntry(l.orderId(), l.tableNumber(), l.quantity(), l.note(),
+                            l.sentToKitchenAt()))
+                    .toList();
+            return new KitchenBoardItem(menuItemId, itemName, totalQuantity, entries);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.restaurantqr.order.kitchen;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import com.restaurantqr.config.OpenApiConfig;
+import com.restaurantqr.exception.ApiErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Staff - Kitchen", description = "Kitchen display endpoints (JWT required)")
+@RestController
+@RequestMapping("/api/v1/staff/kitchen")
+@PreAuthorize("hasRole('STAFF')")
+public class KitchenBoardController {
+
+    private final KitchenBoardService kitchenBoardService;
+
+    public KitchenBoardController(KitchenBoardService kitchenBoardService) {
+        this.kitchenBoardService = kitchenBoardService;
+    }
+
+    @Operation(
+            summary = "Get the kitchen board (what to cook)",
+            description = """
+                Aggregates all `SENT_TO_KITCHEN` orders of the authenticated staff restaurant per menu item:
+                total quantity plus the table number, quantity and note of every order containing it.
+
+                Replaces one `GET /api/v1/staff/orders/{orderId}` call per order. The board is kept in memory
+                and updated when orders are sent to the kitchen, so polling it is cheap.
+                Orders drop off the board after `app.kitchen.board-window` (default 4 hours).
+
+                **Restaurant isolation**
+                - Enforced using `restaurantId` claim in JWT.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Kitchen board",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = KitchenBoardResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (wrong role)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping("/board")
+    public KitchenBoardResponse getBoard(Authentication authentication) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return kitchenBoardService.getBoard(principal.restaurantId());
+    }
+}
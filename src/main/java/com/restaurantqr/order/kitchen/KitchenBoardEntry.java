@@ -0,0 +1,14 @@
+package com.restaurantqr.order.kitchen;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "One order's share of a menu item on the kitchen board")
+public record KitchenBoardEntry(
+        @Schema(example = "101") Long orderId,
+        @Schema(example = "5") Integer tableNumber,
+        @Schema(example = "2") Integer quantity,
+        @Schema(description = "Item note from customer", example = "No onions") String note,
+        @Schema(example = "2026-01-07T21:30:00.000Z") Instant sentToKitchenAt
+) {}
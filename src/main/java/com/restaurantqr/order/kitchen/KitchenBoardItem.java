@@ -0,0 +1,13 @@
+package com.restaurantqr.order.kitchen;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Total quantity of one menu item still to cook")
+public record KitchenBoardItem(
+        @Schema(example = "100") Long menuItemId,
+        @Schema(example = "Burger") String itemName,
+        @Schema(description = "Sum of quantities across all kitchen orders", example = "7") int totalQuantity,
+        @Schema(description = "Per order breakdown, oldest first") List<KitchenBoardEntry> orders
+) {}
@@ -0,0 +1,13 @@
+package com.restaurantqr.order.kitchen;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Aggregated \"to cook\" board for the kitchen")
+public record KitchenBoardResponse(
+        @Schema(description = "Menu items ordered by total quantity, highest first") List<KitchenBoardItem> items,
+        @Schema(description = "Number of SENT_TO_KITCHEN orders on the board", example = "12") int orderCount,
+        @Schema(example = "2026-01-07T21:31:00.000Z") Instant generatedAt
+) {}
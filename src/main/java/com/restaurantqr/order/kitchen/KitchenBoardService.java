@@ -0,0 +1,132 @@
+package com.restaurantqr.order.kitchen;
+
+import com.restaurantqr.order.OrderItemRepository;
+import com.restaurantqr.order.OrderSubmittedEvent;
+import com.restaurantqr.order.staff.OrderStatus;
+import com.restaurantqr.order.staff.OrderStatusBatchChangedEvent;
+import com.restaurantqr.order.staff.OrderStatusChangedEvent;
+import com.restaurantqr.order.staff.OrderStatusResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory "to cook" boards, one per restaurant.
+ *
+ * A board is built from the database the first time its restaurant asks for it after startup and
+ * is then kept up to date from committed order events. Events that arrive before the initial load
+ * are applied too; the load only adds orders the board does not know yet.
+ *
+ * Like the other in-memory views this is per instance: events only cover transitions made on this
+ * instance. Boards are therefore dropped every {@code app.kitchen.rebuild-interval} and reloaded on
+ * the next request, which bounds how long a transition made on another instance can be missing.
+ */
+@Service
+public class KitchenBoardService {
+
+    private static final Logger log = LoggerFactory.getLogger(KitchenBoardService.class);
+
+    private final OrderItemRepository orderItemRepository;
+    private final KitchenProperties props;
+    private final ConcurrentMap<Long, KitchenBoard> boards = new ConcurrentHashMap<>();
+
+    public KitchenBoardService(OrderItemRepository orderItemRepository,
+                               KitchenProperties props,
+                               MeterRegistry meterRegistry) {
+        this.orderItemRepository = orderItemRepository;
+        this.props = props;
+
+        Gauge.builder("kitchen.boards", boards, ConcurrentMap::size)
+                .description("Restaurants with a kitchen board in memory")
+                .register(meterRegistry);
+    }
+
+    public KitchenBoardResponse getBoard(Long restaurantId) {
+        KitchenBoard board = board(restaurantId);
+        while (!board.isLoaded()) {
+            load(restaurantId, board);
+        }
+        return board.snapshot();
+    }
+
+    @TransactionalEventListener
+    public void onOrderSubmitted(OrderSubmittedEvent event) {
+        if (event.order().status() == OrderStatus.SENT_TO_KITCHEN) {
+            addOrders(event.restaurantId(), List.of(event.order().orderId()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Long orderId = event.status().orderId();
+        if (event.status().status() == OrderStatus.SENT_TO_KITCHEN) {
+            addOrders(event.restaurantId(), List.of(orderId));
+        } else {
+            board(event.restaurantId()).removeOrder(orderId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        List<Long> sent = new ArrayList<>();
+        for (OrderStatusResponse status : event.statuses()) {
+            if (status.status() == OrderStatus.SENT_TO_KITCHEN) {
+                sent.add(status.orderId());
+            } else {
+                board(event.restaurantId()).removeOrder(status.orderId());
+            }
+        }
+        if (!sent.isEmpty()) {
+            addOrders(event.restaurantId(), sent);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictStale() {
+        Instant cutoff = Instant.now().minus(props.boardWindow());
+        boards.values().forEach(board -> board.removeSentBefore(cutoff));
+    }
+
+    @Scheduled(fixedDelayString = "${app.kitchen.rebuild-interval}")
+    public void rebuild() {
+        // reloaded lazily: restaurants that stopped asking cost no query
+        boards.values().forEach(KitchenBoard::unload);
+    }
+
+    private void addOrders(Long restaurantId, List<Long> orderIds) {
+        // one small query per transition (single or bulk) instead of one details fetch per order and client
+        Map<Long, List<KitchenLine>> byOrder = orderItemRepository.findKitchenLinesByOrderIds(restaurantId, orderIds)
+                .stream()
+                .collect(Collectors.groupingBy(KitchenLine::orderId, LinkedHashMap::new, Collectors.toList()));
+        KitchenBoard board = board(restaurantId);
+        byOrder.forEach(board::addOrder);
+    }
+
+    private void load(Long restaurantId, KitchenBoard board) {
+        // queried without holding the board, so a slow query blocks neither events nor readers (nor pins a
+        // virtual thread); concurrent first requests may both query, only the first snapshot is applied
+        long generation = board.generation();
+        Instant from = Instant.now().minus(props.boardWindow());
+        List<KitchenLine> lines = orderItemRepository.findKitchenLines(restaurantId, OrderStatus.SENT_TO_KITCHEN, from);
+        if (board.load(generation, lines)) {
+            log.debug("Kitchen board loaded. restaurantId={}, lines={}", restaurantId, lines.size());
+        }
+    }
+
+    private KitchenBoard board(Long restaurantId) {
+        return boards.computeIfAbsent(restaurantId, id -> new KitchenBoard());
+    }
+}
@@ -0,0 +1,16 @@
+package com.restaurantqr.order.kitchen;
+
+import java.time.Instant;
+
+/**
+ * One order item of a kitchen order, projected together with its order and table.
+ */
+public record KitchenLine(
+        Long orderId,
+        Integer tableNumber,
+        Instant sentToKitchenAt,
+        Long menuItemId,
+        String itemName,
+        Integer quantity,
+        String note
+) {}
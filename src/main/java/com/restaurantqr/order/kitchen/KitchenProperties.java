@@ -0,0 +1,12 @@
+package com.restaurantqr.order.kitchen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.kitchen")
+public record KitchenProperties(
+        Duration boardWindow,
+        // boards are dropped and reloaded this often, so changes made on other instances show up
+        Duration rebuildInterval
+) {}
@@ -0,0 +1,7 @@
+package com.restaurantqr.order.staff;
+
+public enum BulkStatusOutcome {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND
+}
@@ -0,0 +1,16 @@
+package com.restaurantqr.order.staff;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Orders to transition in one call")
+public record BulkStatusRequest(
+        @NotEmpty(message = "orderIds is required")
+        @Size(max = StaffOrderService.MAX_BULK_SIZE, message = "at most 100 orders per call")
+        @Schema(example = "[101, 102, 103]")
+        List<@NotNull Long> orderIds
+) {}
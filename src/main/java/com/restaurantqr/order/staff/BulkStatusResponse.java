@@ -0,0 +1,11 @@
+package com.restaurantqr.order.staff;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Bulk status change response, one result per requested order in request order")
+public record BulkStatusResponse(
+        List<BulkStatusResult> results,
+        @Schema(description = "Number of orders actually transitioned by this call", example = "3") int updated
+) {}
@@ -0,0 +1,15 @@
+package com.restaurantqr.order.staff;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Result for one order of a bulk status change")
+public record BulkStatusResult(
+        @Schema(example = "101") Long orderId,
+        @Schema(description = "UPDATED, UNCHANGED (no longer NEW: already sent or further along) "
+                + "or NOT_FOUND (unknown or another restaurant)", example = "UPDATED")
+        BulkStatusOutcome outcome,
+        @Schema(description = "Current status, null when not found", example = "SENT_TO_KITCHEN") OrderStatus status,
+        @Schema(example = "2026-01-07T21:30:00.000Z") Instant sentToKitchenAt
+) {}
@@ -0,0 +1,59 @@
+package com.restaurantqr.order.staff;
+
+import com.restaurantqr.exception.BusinessRuleException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the orders of a restaurant: the {@code (createdAt, id)} of the last order a client has seen.
+ * Serialized as an opaque base64url token so clients never build or parse it themselves.
+ */
+record OrderCursor(Direction direction, Instant createdAt, long id) {
+
+    enum Direction {
+        /** Newest first, continues with older orders. */
+        OLDER,
+        /** Oldest first, continues with orders created afterward (polling). */
+        NEWER
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** Polling start: every order created strictly after {@code since}, regardless of its id. */
+    static OrderCursor newerThan(Instant since) {
+        return new OrderCursor(Direction.NEWER, since, Long.MAX_VALUE);
+    }
+
+    OrderCursor next(OrderSummaryDto last) {
+        return new OrderCursor(direction, last.createdAt(), last.orderId());
+    }
+
+    String encode() {
+        String raw = (direction == Direction.OLDER ? "o" : "n")
+                + ":" + createdAt.getEpochSecond()
+                + ":" + createdAt.getNano()
+                + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static OrderCursor decode(String token) {
+        try {
+            String[] parts = new String(DECODER.decode(token), StandardCharsets.US_ASCII).split(":");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Unexpected cursor format");
+            }
+            Direction direction = switch (parts[0]) {
+                case "o" -> Direction.OLDER;
+                case "n" -> Direction.NEWER;
+                default -> throw new IllegalArgumentException("Unexpected cursor direction");
+            };
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            return new OrderCursor(direction, createdAt, Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BusinessRuleException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.restaurantqr.order.staff;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Order columns needed by the details view, projected in a single query together with the table number.
+ */
+public record OrderHeader(
+        Long orderId,
+        Integer tableNumber,
+        Instant createdAt,
+        BigDecimal totalAmount,
+        String note,
+        OrderStatus status
+) {}
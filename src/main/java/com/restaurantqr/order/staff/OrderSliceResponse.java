@@ -0,0 +1,18 @@
+package com.restaurantqr.order.staff;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "OrderSliceResponse", description = "Cursor based slice of staff orders")
+public record OrderSliceResponse(
+        @Schema(description = "Orders of this slice")
+        List<OrderSummaryDto> items,
+
+        @Schema(description = "Opaque cursor for the next request. Always set in polling mode; null when a listing has no more orders",
+                example = "bjoxNzY3ODIwOTMwOjEyMzAwMDAwMDoxMDE")
+        String nextCursor,
+
+        @Schema(description = "Whether more orders are available right now after this slice", example = "false")
+        boolean hasNext
+) {}
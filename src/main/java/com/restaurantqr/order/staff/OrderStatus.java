@@ -1,6 +1,13 @@
 package com.restaurantqr.order.staff;
 
+/**
+ * Order lifecycle. Allowed moves are defined in {@link OrderTransitions}.
+ */
 public enum OrderStatus {
     NEW,
-    SENT_TO_KITCHEN
+    SENT_TO_KITCHEN,
+    READY,
+    SERVED,
+    PAID,
+    CANCELLED
 }
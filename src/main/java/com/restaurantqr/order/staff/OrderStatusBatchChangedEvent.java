@@ -0,0 +1,8 @@
+package com.restaurantqr.order.staff;
+
+import java.util.List;
+
+/**
+ * Published once per bulk transition inside its transaction; listeners act after commit.
+ */
+public record OrderStatusBatchChangedEvent(Long restaurantId, List<OrderStatusResponse> statuses) {}
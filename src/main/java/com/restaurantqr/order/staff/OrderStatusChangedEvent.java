@@ -0,0 +1,6 @@
+package com.restaurantqr.order.staff;
+
+/**
+ * Published inside the status transaction; listeners act after commit.
+ */
+public record OrderStatusChangedEvent(Long restaurantId, OrderStatusResponse status) {}
@@ -8,5 +8,7 @@ import java.time.Instant;
 public record OrderStatusResponse(
         @Schema(example = "101") Long orderId,
         @Schema(example = "SENT_TO_KITCHEN") OrderStatus status,
-        @Schema(example = "2026-01-07T21:30:00.000Z") Instant sentToKitchenAt
+        @Schema(example = "2026-01-07T21:30:00.000Z") Instant sentToKitchenAt,
+        @Schema(description = "Optimistic lock version, send it back to detect concurrent changes", example = "1")
+        Long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.restaurantqr.order.staff;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Requested order status change")
+public record OrderTransitionRequest(
+        @NotNull(message = "status is required")
+        @Schema(example = "READY")
+        OrderStatus status,
+
+        @Schema(description = "Optional: version the client last saw; a mismatch returns 409", example = "1")
+        Long version
+) {}
@@ -0,0 +1,53 @@
+package com.restaurantqr.order.staff;
+
+import com.restaurantqr.order.CustomerOrder;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transition table of the order lifecycle:
+ * NEW -> SENT_TO_KITCHEN -> READY -> SERVED -> PAID, and CANCELLED from any state before SERVED.
+ */
+public final class OrderTransitions {
+
+    private static final Map<OrderStatus, Set<OrderStatus>> ALLOWED = new EnumMap<>(OrderStatus.class);
+
+    static {
+        ALLOWED.put(OrderStatus.NEW, EnumSet.of(OrderStatus.SENT_TO_KITCHEN, OrderStatus.CANCELLED));
+        ALLOWED.put(OrderStatus.SENT_TO_KITCHEN, EnumSet.of(OrderStatus.READY, OrderStatus.CANCELLED));
+        ALLOWED.put(OrderStatus.READY, EnumSet.of(OrderStatus.SERVED, OrderStatus.CANCELLED));
+        ALLOWED.put(OrderStatus.SERVED, EnumSet.of(OrderStatus.PAID));
+        ALLOWED.put(OrderStatus.PAID, EnumSet.noneOf(OrderStatus.class));
+        ALLOWED.put(OrderStatus.CANCELLED, EnumSet.noneOf(OrderStatus.class));
+    }
+
+    private OrderTransitions() {
+    }
+
+    public static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        return ALLOWED.get(from).contains(to);
+    }
+
+    public static Set<OrderStatus> allowedFrom(OrderStatus from) {
+        return ALLOWED.get(from);
+    }
+
+    /**
+     * Sets the status and the timestamp column that belongs to it.
+     */
+    static void apply(CustomerOrder order, OrderStatus to, Instant now) {
+        order.setStatus(to);
+        switch (to) {
+            case SENT_TO_KITCHEN -> order.setSentToKitchenAt(now);
+            case READY -> order.setReadyAt(now);
+            case SERVED -> order.setServedAt(now);
+            case PAID -> order.setPaidAt(now);
+            case CANCELLED -> order.setCancelledAt(now);
+            case NEW -> { }
+        }
+    }
+}
@@ -14,10 +14,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.data.domain.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 
@@ -36,14 +40,13 @@ public class StaffOrderController {
     @Operation(
             summary = "Get staff orders (paging + polling supported)",
             description = """
-                Returns orders for the authenticated staff restaurant.
-                
-                **Paging**
-                - Use `page` and `size` to paginate orders (sorted by `createdAt` DESC).
+                Returns orders for the authenticated staff restaurant as a Spring `Page`, newest first.
                 
                 **Polling (near real-time)**
-                - If `since` is provided, the API returns only orders created after that timestamp.
-                - Recommended polling interval: every 2–3 seconds.
+                - Send `since` to get only orders created after that timestamp.
+                - Recommended polling interval: every 2–3 seconds (or use `GET /orders/stream`).
+                
+                For keyset paging without a count query use `mode=cursor` (see the cursor variant of this endpoint).
                 
                 **Restaurant isolation**
                 - Orders are restricted to the restaurantId inside the JWT token.
@@ -78,6 +81,84 @@ public class StaffOrderController {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         return staffOrderService.getRecentOrders(principal.restaurantId(), pageable, since);
     }
+
+    @Operation(
+            summary = "Get staff orders with keyset cursors (opt-in via mode=cursor)",
+            description = """
+                Returns an `OrderSliceResponse` instead of a `Page`; no count query, no OFFSET.
+                
+                **Cursor paging**
+                - First call without `cursor` returns the newest orders (sorted by `createdAt`, `id` DESC).
+                - Pass the returned `nextCursor` (together with `mode=cursor`) to get the next, older slice;
+                  `nextCursor` is null on the last slice.
+                
+                **Polling (near real-time)**
+                - Start with `since` to get orders created after that timestamp (oldest first).
+                - Then keep polling with the returned `nextCursor` (always set in this mode).
+                  Orders created in the same instant are neither skipped nor repeated.
+                
+                **Restaurant isolation**
+                - Orders are restricted to the restaurantId inside the JWT token.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders slice returned",
+                    content = @Content(schema = @Schema(implementation = OrderSliceResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Missing/invalid JWT",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden (wrong role)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/orders", params = "mode=cursor")
+    public ResponseEntity<OrderSliceResponse> getOrderSlice(
+            Authentication authentication,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Opaque `nextCursor` returned by a previous call")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Optional polling start (ISO-8601), used when no cursor is sent",
+                    example = "2026-01-07T21:15:30Z")
+            @RequestParam(required = false) Instant since
+    ) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return ResponseEntity.ok(staffOrderService.getOrderSlice(principal.restaurantId(), size, cursor, since));
+    }
+    @Operation(
+            summary = "Stream order events (Server-Sent Events)",
+            description = """
+                    Push alternative to polling `GET /orders?since=`.
+                    
+                    **Events**
+                    - `order.created`: `OrderSummaryDto` of a newly submitted order
+                    - `order.status`: `OrderStatusResponse` after a status change
+                    - `resync`: the requested `Last-Event-ID` is too old, reload the list via `GET /orders`
+                    
+                    **Resume**
+                    - Reconnect with the `Last-Event-ID` header to receive missed events.
+                    - A comment heartbeat is sent periodically to keep proxies from closing the connection.
+                    
+                    **Restaurant isolation**
+                    - Only events of the restaurantId inside the JWT token are streamed.
+                    """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Missing/invalid JWT",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many open streams for this restaurant",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return staffOrderService.streamOrders(principal.restaurantId(), lastEventId);
+    }
     @Operation(
             summary = "Get order details by id",
             description = """
@@ -116,6 +197,7 @@ public class StaffOrderController {
                     
                     Notes:
                     - Idempotent: if already SENT_TO_KITCHEN, returns 200 with current state.
+                    - 409 if the order is further along (READY, SERVED, ...) or was changed concurrently.
                     - Restaurant isolation enforced using restaurantId from JWT.
                     """,
             security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
@@ -126,6 +208,8 @@ public class StaffOrderController {
             @ApiResponse(responseCode = "401", ref = "Unauthorized"),
             @ApiResponse(responseCode = "403", ref = "Forbidden"),
             @ApiResponse(responseCode = "404", description = "Order not found (or belongs to another restaurant)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Transition not allowed or concurrent change",
                     content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
     })
     @PatchMapping("/orders/{orderId}/sent-to-kitchen")
@@ -133,5 +217,67 @@ public class StaffOrderController {
         AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
         return staffOrderService.markSentToKitchen(principal.restaurantId(), orderId);
     }
-}
 
+    @Operation(
+            summary = "Change order status",
+            description = """
+                    Moves an order through its lifecycle:
+                    NEW -> SENT_TO_KITCHEN -> READY -> SERVED -> PAID, or CANCELLED from NEW, SENT_TO_KITCHEN or READY.
+                    
+                    Notes:
+                    - Idempotent: requesting the current status returns 200 with current state.
+                    - Optimistic concurrency: send the `version` from the last response/event; if another tablet
+                      changed the order in between, 409 is returned instead of overwriting it.
+                    - Each status records its timestamp (kitchen latency metrics `orders.kitchen.latency`,
+                      `orders.serve.latency`).
+                    - Restaurant isolation enforced using restaurantId from JWT.
+                    """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Order status updated",
+                    content = @Content(schema = @Schema(implementation = OrderStatusResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden"),
+            @ApiResponse(responseCode = "404", description = "Order not found (or belongs to another restaurant)",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Transition not allowed, stale version or concurrent change",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @PatchMapping("/orders/{orderId}/status")
+    public OrderStatusResponse changeStatus(Authentication authentication,
+                                            @PathVariable Long orderId,
+                                            @Valid @RequestBody OrderTransitionRequest request) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return staffOrderService.transition(principal.restaurantId(), orderId, request.status(), request.version());
+    }
+
+    @Operation(
+            summary = "Mark several orders as sent to kitchen (\"send all\")",
+            description = """
+                    Changes NEW -> SENT_TO_KITCHEN for up to 100 orders with a single restaurant-scoped update.
+                    
+                    Returns one result per requested id (duplicates collapsed):
+                    - UPDATED: transitioned by this call
+                    - UNCHANGED: no longer NEW, i.e. already sent or further along (idempotent, safe to retry)
+                    - NOT_FOUND: unknown id or another restaurant's order
+                    
+                    Every UPDATED order is pushed to the order stream as an `order.status` event.
+                    """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Per order results",
+                    content = @Content(schema = @Schema(implementation = BulkStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Empty list or more than 100 ids",
+                    content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "401", ref = "Unauthorized"),
+            @ApiResponse(responseCode = "403", ref = "Forbidden")
+    })
+    @PatchMapping("/orders/sent-to-kitchen")
+    public BulkStatusResponse markSentToKitchen(Authentication authentication,
+                                                @Valid @RequestBody BulkStatusRequest request) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return staffOrderService.markSentToKitchen(principal.restaurantId(), request.orderIds());
+    }
+}
@@ -1,115 +1,271 @@
 package com.restaurantqr.order.staff;
 
 
+import com.restaurantqr.exception.ConflictException;
 import com.restaurantqr.exception.ResourceNotFoundException;
+import com.restaurantqr.logging.LogSampler;
+import com.restaurantqr.metrics.HotPathMetrics;
 import com.restaurantqr.order.CustomerOrder;
 import com.restaurantqr.order.CustomerOrderRepository;
 import com.restaurantqr.order.OrderItemRepository;
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import com.restaurantqr.tracing.StageTracer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class StaffOrderService {
 
     private static final Logger log = LoggerFactory.getLogger(StaffOrderService.class);
+    // per-request lines on the polling paths: sampled debug, never INFO
+    private static final LogSampler POLL_LOG = LogSampler.perInterval(Duration.ofSeconds(1));
+
+    static final int MAX_SLICE_SIZE = 100;
+    static final int MAX_BULK_SIZE = 100;
 
     private final CustomerOrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final RestaurantEventBroadcaster broadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Timer kitchenLatency;
+    private final Timer serveLatency;
+    private final HotPathMetrics metrics;
+    private final StageTracer tracer;
 
     public StaffOrderService(CustomerOrderRepository orderRepository,
-                             OrderItemRepository orderItemRepository) {
+                             OrderItemRepository orderItemRepository,
+                             RestaurantEventBroadcaster broadcaster,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             HotPathMetrics metrics,
+                             StageTracer tracer) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.broadcaster = broadcaster;
+        this.eventPublisher = eventPublisher;
+        this.kitchenLatency = Timer.builder("orders.kitchen.latency")
+                .description("SENT_TO_KITCHEN to READY")
+                .register(meterRegistry);
+        this.serveLatency = Timer.builder("orders.serve.latency")
+                .description("READY to SERVED")
+                .register(meterRegistry);
+        this.metrics = metrics;
+        this.tracer = tracer;
     }
 
+    /**
+     * Offset based listing, the default response of {@code GET /orders}; {@link #getOrderSlice} avoids the count query.
+     */
     @Transactional(readOnly = true)
     public Page<OrderSummaryDto> getRecentOrders(Long restaurantId, Pageable pageable, Instant since) {
-        log.info("Get recent orders. restaurantId={}, page={}, size={}, since={}",
-                restaurantId, pageable.getPageNumber(), pageable.getPageSize(),since);
+        if (log.isDebugEnabled() && POLL_LOG.sample()) {
+            log.debug("Get recent orders. restaurantId={}, page={}, size={}, since={}",
+                    restaurantId, pageable.getPageNumber(), pageable.getPageSize(), since);
+        }
 
         // Polling mode
-        Page<CustomerOrder> pageResult = (since == null)
-                ? orderRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId, pageable)
-                : orderRepository.findNewOrdersSince(restaurantId, since, pageable);
-
-        return pageResult.map(o -> new OrderSummaryDto(
-                o.getId(),
-                o.getTable().getTableNumber(),
-                o.getCreatedAt(),
-                o.getTotalAmount(),
-                o.getStatus()
-        ));
+        return (since == null)
+                ? orderRepository.findSummaries(restaurantId, pageable)
+                : orderRepository.findSummariesSince(restaurantId, since, pageable);
     }
 
+    /**
+     * Cursor based listing. Without {@code cursor} it starts at the newest orders (or, with {@code since},
+     * at the first order created after that instant in polling order); the returned cursor continues exactly
+     * after the last order of the slice, so orders sharing a {@code createdAt} are never skipped or repeated.
+     */
     @Transactional(readOnly = true)
-    public OrderDetailsDto getOrderDetails(Long restaurantId, Long orderId) {
-        log.info("Get order details. restaurantId={}, orderId={}", restaurantId, orderId);
+    public OrderSliceResponse getOrderSlice(Long restaurantId, int size, String cursorToken, Instant since) {
+        int limit = Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+        OrderCursor cursor = (cursorToken != null && !cursorToken.isBlank())
+                ? OrderCursor.decode(cursorToken)
+                : (since != null ? OrderCursor.newerThan(since) : null);
 
-        CustomerOrder order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
+        if (log.isDebugEnabled() && POLL_LOG.sample()) {
+            log.debug("Get order slice. restaurantId={}, size={}, cursor={}", restaurantId, limit, cursor);
+        }
+        return metrics.time("orders.slice", restaurantId, () -> loadSlice(restaurantId, limit, cursor));
+    }
 
-        // ✅ Security boundary: order must belong to same restaurant
-        if (!order.getRestaurant().getId().equals(restaurantId)) {
-            log.warn("Order access denied by restaurant boundary. orderId={}, requestedRestaurantId={}, actualRestaurantId={}",
-                    orderId, restaurantId, order.getRestaurant().getId());
-            throw new ResourceNotFoundException("Order not found: " + orderId);
+    private OrderSliceResponse loadSlice(Long restaurantId, int limit, OrderCursor cursor) {
+        // Fetch one extra row to learn whether another slice follows, without a count query
+        Limit fetch = Limit.of(limit + 1);
+        List<OrderSummaryDto> rows;
+        if (cursor == null) {
+            rows = orderRepository.findLatestSummaries(restaurantId, fetch);
+        } else if (cursor.direction() == OrderCursor.Direction.OLDER) {
+            rows = orderRepository.findSummariesBefore(restaurantId, cursor.createdAt(), cursor.id(), fetch);
+        } else {
+            rows = orderRepository.findSummariesAfter(restaurantId, cursor.createdAt(), cursor.id(), fetch);
         }
 
-        var items = orderItemRepository.findByOrderId(orderId).stream()
-                .map(oi -> new OrderItemDto(
-                        oi.getMenuItem().getId(),
-                        oi.getMenuItem().getName(),
-                        oi.getQuantity(),
-                        oi.getUnitPrice(),
-                        oi.getTotalPrice(),
-                        oi.getNote()
+        boolean hasNext = rows.size() > limit;
+        List<OrderSummaryDto> items = hasNext ? rows.subList(0, limit) : rows;
+        OrderSummaryDto last = items.isEmpty() ? null : items.get(items.size() - 1);
+
+        String nextCursor;
+        if (cursor != null && cursor.direction() == OrderCursor.Direction.NEWER) {
+            // Polling: always hand back a position, even when nothing new arrived
+            nextCursor = (last == null ? cursor : cursor.next(last)).encode();
+        } else {
+            nextCursor = hasNext
+                    ? new OrderCursor(OrderCursor.Direction.OLDER, last.createdAt(), last.orderId()).encode()
+                    : null;
+        }
+        return new OrderSliceResponse(List.copyOf(items), nextCursor, hasNext);
+    }
+
+    /**
+     * Live stream of order events for the restaurant (created + status changes).
+     * Clients load the list once via {@link #getOrderSlice} and then follow this stream.
+     */
+    public SseEmitter streamOrders(Long restaurantId, String lastEventId) {
+        log.info("Open order stream. restaurantId={}, lastEventId={}", restaurantId, lastEventId);
+        return broadcaster.subscribe(StreamTopic.ORDERS, restaurantId, lastEventId);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderDetailsDto getOrderDetails(Long restaurantId, Long orderId) {
+        log.debug("Get order details. restaurantId={}, orderId={}", restaurantId, orderId);
+
+        // Restaurant boundary is in the WHERE clause: another restaurant's order is simply "not found"
+        OrderHeader header = orderRepository.findHeader(restaurantId, orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
 
-                ))
-                .toList();
+        List<OrderItemDto> items = orderItemRepository.findItemDtosByOrderId(orderId);
 
         return new OrderDetailsDto(
-                order.getId(),
-                order.getTable().getTableNumber(),
-                order.getCreatedAt(),
-                order.getTotalAmount(),
-                order.getNote(),
+                header.orderId(),
+                header.tableNumber(),
+                header.createdAt(),
+                header.totalAmount(),
+                header.note(),
                 items,
-                order.getStatus()
+                header.status()
         );
     }
     @Transactional
     public OrderStatusResponse markSentToKitchen(Long restaurantId, Long orderId) {
-        log.info("Mark order as SENT_TO_KITCHEN. restaurantId={}, orderId={}", restaurantId, orderId);
+        return transition(restaurantId, orderId, OrderStatus.SENT_TO_KITCHEN, null);
+    }
 
-        CustomerOrder order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
+    /**
+     * Moves an order along {@link OrderTransitions}. Repeating the current status is a no-op (idempotent taps).
+     *
+     * No row lock is taken: the UPDATE is conditional on the version read here, so of two concurrent
+     * transitions the second matches no row and fails with 409 instead of overwriting the first.
+     * {@code expectedVersion}, when sent, is checked up front against what the client last saw.
+     */
+    @Transactional
+    public OrderStatusResponse transition(Long restaurantId, Long orderId, OrderStatus target, Long expectedVersion) {
+        log.info("Order transition. restaurantId={}, orderId={}, target={}", restaurantId, orderId, target);
+        return metrics.time("orders.transition", restaurantId, Tags.of("target", target.name()),
+                () -> applyTransition(restaurantId, orderId, target, expectedVersion));
+    }
 
+    private OrderStatusResponse applyTransition(Long restaurantId, Long orderId, OrderStatus target, Long expectedVersion) {
         // Restaurant boundary
-        if (!order.getRestaurant().getId().equals(restaurantId)) {
-            log.warn("Order not found under restaurant boundary. orderId={}, requestedRestaurantId={}, actualRestaurantId={}",
-                    orderId, restaurantId, order.getRestaurant().getId());
-            throw new ResourceNotFoundException("Order not found: " + orderId);
-        }
+        CustomerOrder order = tracer.stage("load_order", () -> orderRepository.findByIdAndRestaurantId(orderId, restaurantId))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found: " + orderId));
 
-        if (order.getStatus() == OrderStatus.SENT_TO_KITCHEN) {
-            log.info("Order already SENT_TO_KITCHEN. orderId={}", orderId);
-            return new OrderStatusResponse(order.getId(), order.getStatus(), order.getSentToKitchenAt());
+        if (order.getStatus() == target) {
+            log.info("Order already {}. orderId={}", target, orderId);
+            return toStatusResponse(order);
+        }
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new ConflictException("Order " + orderId + " was modified (version " + order.getVersion() + ")");
+        }
+        if (!OrderTransitions.isAllowed(order.getStatus(), target)) {
+            throw new ConflictException("Order " + orderId + " cannot go from " + order.getStatus() + " to " + target);
         }
 
-        order.setStatus(OrderStatus.SENT_TO_KITCHEN);
-        order.setSentToKitchenAt(Instant.now());
+        OrderStatus previous = order.getStatus();
+        Instant now = Instant.now();
+        OrderTransitions.apply(order, target, now);
 
-        // save not required if managed entity, but explicit is OK
-        orderRepository.save(order);
+        // flush now so a version conflict surfaces here and the response carries the new version
+        tracer.stage("update_order", () -> orderRepository.saveAndFlush(order));
+        recordLatency(order, target);
 
-        log.info("Order marked as SENT_TO_KITCHEN. orderId={}", orderId);
-        return new OrderStatusResponse(order.getId(), order.getStatus(), order.getSentToKitchenAt());
+        log.info("Order transitioned. orderId={}, from={}, to={}", orderId, previous, target);
+        OrderStatusResponse response = toStatusResponse(order);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(restaurantId, response));
+        return response;
     }
 
-}
+    private void recordLatency(CustomerOrder order, OrderStatus target) {
+        if (target == OrderStatus.READY && order.getSentToKitchenAt() != null) {
+            kitchenLatency.record(Duration.between(order.getSentToKitchenAt(), order.getReadyAt()));
+        } else if (target == OrderStatus.SERVED && order.getReadyAt() != null) {
+            serveLatency.record(Duration.between(order.getReadyAt(), order.getServedAt()));
+        }
+    }
+
+    private static OrderStatusResponse toStatusResponse(CustomerOrder order) {
+        return new OrderStatusResponse(order.getId(), order.getStatus(), order.getSentToKitchenAt(), order.getVersion());
+    }
+
+    /**
+     * NEW -> SENT_TO_KITCHEN for many orders with one UPDATE and one SELECT, whatever the batch size.
+     * Orders no longer NEW are reported as UNCHANGED, unknown ids and other restaurants' orders as NOT_FOUND.
+     */
+    @Transactional
+    public BulkStatusResponse markSentToKitchen(Long restaurantId, List<Long> orderIds) {
+        return metrics.time("orders.bulk.sent_to_kitchen", restaurantId, () -> bulkSentToKitchen(restaurantId, orderIds));
+    }
+
+    private BulkStatusResponse bulkSentToKitchen(Long restaurantId, List<Long> orderIds) {
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        // DATETIME(6): truncate so the stored value compares equal below
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+
+        int updated = tracer.stage("bulk_update",
+                () -> orderRepository.markSentToKitchen(restaurantId, ids, OrderStatus.NEW, OrderStatus.SENT_TO_KITCHEN, now));
+
+        Map<Long, OrderStatusResponse> current = tracer.stage("load_statuses", () -> orderRepository.findStatuses(restaurantId, ids))
+                .stream()
+                .collect(Collectors.toMap(OrderStatusResponse::orderId, Function.identity()));
 
+        List<BulkStatusResult> results = new ArrayList<>(ids.size());
+        List<OrderStatusResponse> changed = new ArrayList<>(updated);
+        for (Long id : ids) {
+            OrderStatusResponse status = current.get(id);
+            if (status == null) {
+                results.add(new BulkStatusResult(id, BulkStatusOutcome.NOT_FOUND, null, null));
+                continue;
+            }
+            // sentToKitchenAt == now only for rows this statement changed
+            boolean mine = status.status() == OrderStatus.SENT_TO_KITCHEN && now.equals(status.sentToKitchenAt());
+            if (mine) {
+                changed.add(status);
+            }
+            results.add(new BulkStatusResult(id, mine ? BulkStatusOutcome.UPDATED : BulkStatusOutcome.UNCHANGED,
+                    status.status(), status.sentToKitchenAt()));
+        }
+
+        log.info("Bulk SENT_TO_KITCHEN. restaurantId={}, requested={}, updated={}", restaurantId, ids.size(), updated);
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new OrderStatusBatchChangedEvent(restaurantId, List.copyOf(changed)));
+        }
+        return new BulkStatusResponse(results, changed.size());
+    }
+}
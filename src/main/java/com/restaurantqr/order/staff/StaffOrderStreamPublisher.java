@@ -0,0 +1,41 @@
+package com.restaurantqr.order.staff;
+
+import com.restaurantqr.order.OrderSubmittedEvent;
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes committed order changes to the staff order stream.
+ */
+@Component
+public class StaffOrderStreamPublisher {
+
+    public static final String ORDER_CREATED = "order.created";
+    public static final String ORDER_STATUS = "order.status";
+
+    private final RestaurantEventBroadcaster broadcaster;
+
+    public StaffOrderStreamPublisher(RestaurantEventBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @TransactionalEventListener
+    public void onOrderSubmitted(OrderSubmittedEvent event) {
+        broadcaster.publish(StreamTopic.ORDERS, event.restaurantId(), ORDER_CREATED, event.order());
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        broadcaster.publish(StreamTopic.ORDERS, event.restaurantId(), ORDER_STATUS, event.status());
+    }
+
+    // same per-order events as single transitions, so stream clients need no new event type
+    @TransactionalEventListener
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        for (OrderStatusResponse status : event.statuses()) {
+            broadcaster.publish(StreamTopic.ORDERS, event.restaurantId(), ORDER_STATUS, status);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurantqr.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process {@link TableRateLimiter}: a token bucket of capacity 1 per (table, action),
+ * stored as one "next allowed" timestamp and updated with CAS only.
+ *
+ * This is per JVM. The services keep their DB check behind the table lock as the
+ * authoritative guard (multiple instances, restarts), this limiter just keeps
+ * rejected requests away from that lock.
+ */
+@Component
+public class InMemoryTableRateLimiter implements TableRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryTableRateLimiter.class);
+
+    private final Map<TableAction, Long> windowNanos = new EnumMap<>(TableAction.class);
+    private final Map<TableAction, ConcurrentMap<Long, AtomicLong>> nextAllowed = new EnumMap<>(TableAction.class);
+
+    public InMemoryTableRateLimiter(RateLimitProperties props) {
+        for (TableAction action : TableAction.values()) {
+            windowNanos.put(action, props.windowFor(action).toNanos());
+            nextAllowed.put(action, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public Optional<Permit> tryAcquire(Long tableId, TableAction action) {
+        AtomicLong slot = nextAllowed.get(action).computeIfAbsent(tableId, id -> new AtomicLong(Long.MIN_VALUE));
+        long window = windowNanos.get(action);
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = slot.get();
+            if (current != Long.MIN_VALUE && now - current < 0) {
+                return Optional.empty();
+            }
+            long next = now + window;
+            if (slot.compareAndSet(current, next)) {
+                return Optional.of(new Permit(tableId, action, current, next));
+            }
+        }
+    }
+
+    @Override
+    public void release(Permit permit) {
+        AtomicLong slot = nextAllowed.get(permit.action()).get(permit.tableId());
+        if (slot != null) {
+            slot.compareAndSet(permit.state(), permit.previousState());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (ConcurrentMap<Long, AtomicLong> slots : nextAllowed.values()) {
+            for (var entry : slots.entrySet()) {
+                long next = entry.getValue().get();
+                if (next == Long.MIN_VALUE || now - next >= 0) {
+                    if (slots.remove(entry.getKey(), entry.getValue())) {
+                        removed++;
+                    }
+                }
+            }
+        }
+        if (removed > 0) {
+            log.debug("Rate limiter slots evicted. count={}", removed);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.restaurantqr.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        Duration orderWindow,
+        Duration serviceCallWindow
+) {
+
+    public Duration windowFor(TableAction action) {
+        return switch (action) {
+            case ORDER -> orderWindow;
+            case SERVICE_CALL -> serviceCallWindow;
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package com.restaurantqr.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Approximate sliding window counter per key: the previous fixed window is weighted by how much of it
+ * still overlaps the sliding window. Two ints per key, no timestamps list.
+ *
+ * The number of tracked keys is bounded, so a flood of distinct keys cannot exhaust memory.
+ */
+public final class SlidingWindowLimiter {
+
+    private final int limit;
+    private final long windowNanos;
+    private final Cache<String, Window> windows;
+
+    public SlidingWindowLimiter(int limit, Duration window, long maxKeys) {
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.windows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+    }
+
+    /**
+     * Counts one event for {@code key} unless the key is already at its limit.
+     *
+     * @return false when the key is limited (nothing is counted then)
+     */
+    public boolean tryAcquire(String key) {
+        Window window = windows.get(key, k -> new Window(System.nanoTime()));
+        synchronized (window) {
+            long now = System.nanoTime();
+            window.roll(now);
+            if (window.estimate(now) >= limit) {
+                return false;
+            }
+            window.current++;
+            return true;
+        }
+    }
+
+    /** Counts one event for {@code key}, even past the limit. */
+    public void record(String key) {
+        Window window = windows.get(key, k -> new Window(System.nanoTime()));
+        synchronized (window) {
+            window.roll(System.nanoTime());
+            window.current++;
+        }
+    }
+
+    public boolean isLimited(String key) {
+        Window window = windows.getIfPresent(key);
+        if (window == null) {
+            return false;
+        }
+        synchronized (window) {
+            long now = System.nanoTime();
+            window.roll(now);
+            return window.estimate(now) >= limit;
+        }
+    }
+
+    public void reset(String key) {
+        windows.invalidate(key);
+    }
+
+    private final class Window {
+        private long start;
+        private int previous;
+        private int current;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        private void roll(long now) {
+            long elapsed = now - start;
+            if (elapsed >= 2 * windowNanos) {
+                previous = 0;
+                current = 0;
+                start = now;
+            } else if (elapsed >= windowNanos) {
+                previous = current;
+                current = 0;
+                start += windowNanos;
+            }
+        }
+
+        private double estimate(long now) {
+            double previousWeight = 1.0 - (double) (now - start) / windowNanos;
+            return previous * previousWeight + current;
+        }
+    }
+}
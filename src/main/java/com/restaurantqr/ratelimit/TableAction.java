@@ -0,0 +1,6 @@
+package com.restaurantqr.ratelimit;
+
+public enum TableAction {
+    ORDER,
+    SERVICE_CALL
+}
@@ -0,0 +1,45 @@
+package com.restaurantqr.ratelimit;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Per-table throttle for customer actions (one action per configured window).
+ *
+ * It runs before any table lock is taken, so rejected requests never touch the DB.
+ */
+public interface TableRateLimiter {
+
+    /**
+     * @return a permit when the action is admitted, empty when the table is still in its window
+     */
+    Optional<Permit> tryAcquire(Long tableId, TableAction action);
+
+    /**
+     * Gives the slot back, e.g. when the admitted action failed validation.
+     * No-op if the window was already taken by a later permit.
+     */
+    void release(Permit permit);
+
+    /**
+     * Releases the permit unless the surrounding transaction commits.
+     * Without an active transaction the caller must release on failure itself.
+     */
+    default void releaseUnlessCommitted(Permit permit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(permit);
+                }
+            }
+        });
+    }
+
+    record Permit(Long tableId, TableAction action, long previousState, long state) {}
+}
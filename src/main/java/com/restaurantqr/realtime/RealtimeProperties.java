@@ -0,0 +1,17 @@
+package com.restaurantqr.realtime;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.realtime")
+public record RealtimeProperties(
+        Duration emitterTimeout,
+        Duration heartbeatInterval,
+        int replayBufferSize,
+        int subscriberBufferSize,
+        int maxSubscribersPerRestaurant,
+        int dispatchThreads,
+        // a subscriber whose write blocks longer than this is disconnected
+        Duration writeTimeout
+) {}
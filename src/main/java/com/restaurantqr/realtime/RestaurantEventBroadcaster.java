@@ -0,0 +1,364 @@
+package com.restaurantqr.realtime;
+
+import com.restaurantqr.exception.RateLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Per-restaurant fan-out of server-sent events.
+ *
+ * - Every (topic, restaurant) channel keeps the last N events, so a client reconnecting
+ *   with {@code Last-Event-ID} gets what it missed (or a {@code resync} event if it is too late).
+ * - Every subscriber has a bounded queue drained by a small dispatcher pool. A subscriber whose
+ *   queue overflows is disconnected instead of buffering without limit; it reconnects and replays.
+ * - Publishers never write to sockets, they only enqueue.
+ * - A drain sends at most {@value #MAX_EVENTS_PER_DRAIN} events before giving its thread to the next
+ *   subscriber. A write blocked for longer than {@code app.realtime.write-timeout} disconnects its
+ *   subscriber and the pool gets a replacement thread until the write fails, so a client that stopped
+ *   reading holds one thread of its own instead of one of the shared ones.
+ */
+@Component
+public class RestaurantEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantEventBroadcaster.class);
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final StreamEvent HEARTBEAT = new StreamEvent(null, 0, null, null);
+
+    static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    // Subscriber.writeStartedAt when no write is in progress, and once the watchdog gave up on the write
+    private static final long IDLE = Long.MIN_VALUE;
+    private static final long STALLED = Long.MIN_VALUE + 1;
+
+    private final RealtimeProperties props;
+    private final ThreadPoolExecutor dispatcher;
+    private final Counter droppedSubscribers;
+    private final AtomicInteger stalledWriters = new AtomicInteger();
+
+    // changes on every start, so ids from a previous process are recognised as unknown
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentMap<ChannelKey, Channel> channels = new ConcurrentHashMap<>();
+
+    public RestaurantEventBroadcaster(RealtimeProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("sse-dispatch-");
+        threadFactory.setDaemon(true);
+        this.dispatcher = new ThreadPoolExecutor(props.dispatchThreads(), props.dispatchThreads(),
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+
+        this.droppedSubscribers = Counter.builder("realtime.subscribers.dropped")
+                .description("Stream subscribers disconnected because their buffer overflowed or a write stalled")
+                .register(meterRegistry);
+        Gauge.builder("realtime.writers.stalled", stalledWriters, AtomicInteger::get)
+                .description("Dispatcher threads blocked in a write that timed out")
+                .register(meterRegistry);
+        Gauge.builder("realtime.subscribers", channels,
+                        map -> map.values().stream().mapToInt(c -> c.subscribers.size()).sum())
+                .description("Open server-sent event streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(StreamTopic topic, Long restaurantId, String lastEventId) {
+        return subscribe(topic, restaurantId, lastEventId, null, null);
+    }
+
+    /**
+     * Like {@link #subscribe(StreamTopic, Long, String)}, but a client that cannot resume
+     * receives {@code snapshotEvent} (built under the channel lock) instead of {@code resync}.
+     */
+    public SseEmitter subscribe(StreamTopic topic, Long restaurantId, String lastEventId,
+                                String snapshotEvent, Supplier<?> snapshot) {
+        Channel channel = channel(topic, restaurantId);
+        SseEmitter emitter = new SseEmitter(props.emitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(props.subscriberBufferSize()));
+
+        channel.lock.lock();
+        try {
+            if (channel.subscribers.size() >= props.maxSubscribersPerRestaurant()) {
+                log.warn("Stream subscriber limit reached. topic={}, restaurantId={}", topic, restaurantId);
+                throw new RateLimitException("Too many open streams for this restaurant");
+            }
+
+            // replay + registration under the channel lock -> no event is lost or duplicated in between
+            List<StreamEvent> missed = channel.eventsAfter(lastEventId, epoch);
+            boolean resumable = missed != null && missed.size() <= props.subscriberBufferSize();
+            if (snapshot != null && (!resumable || lastEventId == null || lastEventId.isBlank())) {
+                subscriber.queue.offer(new StreamEvent(epoch + "-" + channel.sequence, channel.sequence,
+                        snapshotEvent, snapshot.get()));
+            } else if (!resumable) {
+                subscriber.queue.offer(new StreamEvent(null, 0, RESYNC_EVENT, "reload"));
+            } else {
+                missed.forEach(subscriber.queue::offer);
+            }
+            channel.subscribers.add(subscriber);
+        } finally {
+            channel.lock.unlock();
+        }
+
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> channel.subscribers.remove(subscriber));
+        emitter.onError(e -> channel.subscribers.remove(subscriber));
+
+        log.debug("Stream subscribed. topic={}, restaurantId={}, lastEventId={}", topic, restaurantId, lastEventId);
+
+        schedule(channel, subscriber);
+        return emitter;
+    }
+
+    public void publish(StreamTopic topic, Long restaurantId, String eventName, Object data) {
+        Channel channel = channel(topic, restaurantId);
+        List<Subscriber> ready = new ArrayList<>();
+        List<Subscriber> overflowed = new ArrayList<>();
+
+        channel.lock.lock();
+        try {
+            long sequence = ++channel.sequence;
+            StreamEvent event = new StreamEvent(epoch + "-" + sequence, sequence, eventName, data);
+            channel.remember(event, props.replayBufferSize());
+
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.queue.offer(event)) {
+                    ready.add(subscriber);
+                } else {
+                    overflowed.add(subscriber);
+                }
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+
+        overflowed.forEach(s -> drop(channel, s));
+        ready.forEach(s -> schedule(channel, s));
+    }
+
+    @Scheduled(fixedDelayString = "${app.realtime.heartbeat-interval}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                if (subscriber.queue.offer(HEARTBEAT)) {
+                    schedule(channel, subscriber);
+                } else {
+                    drop(channel, subscriber);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void dropStalledWriters() {
+        long now = System.nanoTime();
+        long timeout = props.writeTimeout().toNanos();
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                long started = subscriber.writeStartedAt.get();
+                // the CAS fails if the write completed meanwhile; otherwise write() sees STALLED when it returns
+                if (started != IDLE && started != STALLED && now - started > timeout
+                        && subscriber.writeStartedAt.compareAndSet(started, STALLED)) {
+                    channel.subscribers.remove(subscriber);
+                    droppedSubscribers.increment();
+                    stalledWriters.incrementAndGet();
+                    resizeDispatcher(1);
+                    log.warn("Stalled stream subscriber disconnected (write blocked for over {})", props.writeTimeout());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private Channel channel(StreamTopic topic, Long restaurantId) {
+        return channels.computeIfAbsent(new ChannelKey(topic, restaurantId), k -> new Channel());
+    }
+
+    private void drop(Channel channel, Subscriber subscriber) {
+        if (channel.subscribers.remove(subscriber)) {
+            droppedSubscribers.increment();
+            log.warn("Slow stream subscriber disconnected (buffer full)");
+            // completed by its drain: complete() waits for a write in progress, the publisher must not
+            subscriber.closed.set(true);
+            schedule(channel, subscriber);
+        }
+    }
+
+    private void schedule(Channel channel, Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(channel, subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Channel channel, Subscriber subscriber) {
+        try {
+            StreamEvent event;
+            int sent = 0;
+            while (!subscriber.closed.get() && sent++ < MAX_EVENTS_PER_DRAIN
+                    && (event = subscriber.queue.poll()) != null) {
+                if (event == HEARTBEAT) {
+                    write(subscriber, SseEmitter.event().comment("heartbeat"));
+                } else if (event.id() == null) {
+                    write(subscriber, SseEmitter.event().name(event.name()).data(event.data()));
+                } else {
+                    write(subscriber, SseEmitter.event()
+                            .id(event.id())
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException e) {
+            // client went away or stopped reading
+            log.debug("Stream subscriber write failed: {}", e.getMessage());
+            channel.subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } catch (IllegalStateException e) {
+            // emitter already completed (timeout, client disconnect)
+            log.debug("Stream subscriber write failed: {}", e.getMessage());
+            channel.subscribers.remove(subscriber);
+            return;
+        }
+
+        if (subscriber.closed.get()) {
+            subscriber.emitter.complete();
+            return;
+        }
+        subscriber.scheduled.set(false);
+        if (!subscriber.queue.isEmpty() || subscriber.closed.get()) {
+            schedule(channel, subscriber);
+        }
+    }
+
+    private void write(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        subscriber.writeStartedAt.set(System.nanoTime());
+        boolean stalled;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            stalled = subscriber.writeStartedAt.getAndSet(IDLE) == STALLED;
+            if (stalled) {
+                // the replacement thread added by dropStalledWriters is no longer needed
+                stalledWriters.decrementAndGet();
+                resizeDispatcher(-1);
+            }
+        }
+        if (stalled) {
+            throw new AsyncRequestNotUsableException("Write blocked for over " + props.writeTimeout());
+        }
+    }
+
+    private synchronized void resizeDispatcher(int delta) {
+        int size = dispatcher.getCorePoolSize() + delta;
+        // the maximum may never be below the core size
+        if (delta > 0) {
+            dispatcher.setMaximumPoolSize(size);
+            dispatcher.setCorePoolSize(size);
+        } else {
+            dispatcher.setCorePoolSize(size);
+            dispatcher.setMaximumPoolSize(size);
+        }
+    }
+
+    private record ChannelKey(StreamTopic topic, Long restaurantId) {}
+
+    private static final class Channel {
+        final ReentrantLock lock = new ReentrantLock();
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final ArrayDeque<StreamEvent> recent = new ArrayDeque<>();
+        long sequence;
+
+        // caller holds the lock
+        void remember(StreamEvent event, int capacity) {
+            if (recent.size() == capacity) {
+                recent.pollFirst();
+            }
+            recent.addLast(event);
+        }
+
+        /**
+         * Events after the given id, an empty list for new clients,
+         * or null if the id cannot be served from the buffer. Caller holds the lock.
+         */
+        List<StreamEvent> eventsAfter(String lastEventId, String epoch) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return List.of();
+            }
+            int dash = lastEventId.lastIndexOf('-');
+            if (dash <= 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+                return null;
+            }
+
+            long lastSequence;
+            try {
+                lastSequence = Long.parseLong(lastEventId.substring(dash + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            long oldest = recent.isEmpty() ? sequence + 1 : recent.peekFirst().sequence();
+            if (lastSequence > sequence || lastSequence < oldest - 1) {
+                return null;
+            }
+
+            List<StreamEvent> missed = new ArrayList<>();
+            for (StreamEvent event : recent) {
+                if (event.sequence() > lastSequence) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<StreamEvent> queue;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // set when disconnected by a publisher; the drain completes the emitter
+        final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the current write started, IDLE or STALLED
+        final AtomicLong writeStartedAt = new AtomicLong(IDLE);
+
+        Subscriber(SseEmitter emitter, BlockingQueue<StreamEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.restaurantqr.realtime;
+
+/**
+ * One server-sent event. {@code id} is "{epoch}-{sequence}" so a client resuming
+ * after a server restart is detected instead of silently missing events.
+ */
+record StreamEvent(String id, long sequence, String name, Object data) {}
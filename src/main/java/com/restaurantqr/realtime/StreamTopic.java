@@ -0,0 +1,7 @@
+package com.restaurantqr.realtime;
+
+public enum StreamTopic {
+    ORDERS,
+    SERVICE_CALLS,
+    MENU
+}
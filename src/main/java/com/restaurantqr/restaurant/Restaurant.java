@@ -6,6 +6,7 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(RestaurantEntityListener.class)
 @Table(name = "restaurants")
 public class Restaurant {
 
@@ -0,0 +1,3 @@
+package com.restaurantqr.restaurant;
+
+public record RestaurantChangedEvent(Long restaurantId) {}
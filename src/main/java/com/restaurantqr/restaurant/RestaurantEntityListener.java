@@ -0,0 +1,23 @@
+package com.restaurantqr.restaurant;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RestaurantEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public RestaurantEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    // a new restaurant cannot be cached anywhere yet -> no @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRestaurantChange(Restaurant restaurant) {
+        publisher.publishEvent(new RestaurantChangedEvent(restaurant.getId()));
+    }
+}
@@ -0,0 +1,19 @@
+package com.restaurantqr.servicecall;
+
+import java.time.Instant;
+
+/**
+ * Entry of {@link ActiveServiceCallRegistry}.
+ */
+public record ActiveServiceCall(
+        Long restaurantId,
+        Long id,
+        Integer tableNumber,
+        CallType callType,
+        Instant createdAt
+) {
+
+    public ServiceCallResponse toResponse() {
+        return new ServiceCallResponse(id, tableNumber, callType, createdAt);
+    }
+}
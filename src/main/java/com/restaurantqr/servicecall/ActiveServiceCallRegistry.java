@@ -0,0 +1,119 @@
+package com.restaurantqr.servicecall;
+
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory view of the active service calls of every restaurant.
+ *
+ * Fed after commit by {@link ServiceCallService#createCall}, warmed from the DB on startup.
+ * All calls share the same active window, so expiry order equals insertion order and a FIFO
+ * queue checked once per second does the job of a timer wheel with O(1) work per call.
+ *
+ * The registry only sees calls created by this instance; run a single instance
+ * (or sticky restaurants) when relying on it.
+ */
+@Component
+public class ActiveServiceCallRegistry implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveServiceCallRegistry.class);
+
+    public static final String CALL_CREATED = "service-call.created";
+    public static final String CALL_EXPIRED = "service-call.expired";
+    public static final String CALL_SNAPSHOT = "service-call.snapshot";
+
+    private final ServiceCallRepository serviceCallRepository;
+    private final RestaurantEventBroadcaster broadcaster;
+    private final ServiceCallProperties props;
+
+    private final ConcurrentMap<Long, Map<Long, ActiveServiceCall>> callsByRestaurant = new ConcurrentHashMap<>();
+    private final Queue<ActiveServiceCall> expiryQueue = new ConcurrentLinkedQueue<>();
+
+    public ActiveServiceCallRegistry(ServiceCallRepository serviceCallRepository,
+                                     RestaurantEventBroadcaster broadcaster,
+                                     ServiceCallProperties props) {
+        this.serviceCallRepository = serviceCallRepository;
+        this.broadcaster = broadcaster;
+        this.props = props;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Instant activeSince = Instant.now().minus(props.activeWindow());
+        List<ActiveServiceCall> active = serviceCallRepository.findActiveCallsSince(activeSince);
+        active.forEach(this::register);
+        log.info("Active service call registry warmed up. activeCalls={}", active.size());
+    }
+
+    /**
+     * Active calls, newest first; with {@code since} only calls created after it, oldest first
+     * (same ordering as the former DB queries).
+     */
+    public List<ServiceCallResponse> getActiveCalls(Long restaurantId, Instant since) {
+        Instant activeSince = Instant.now().minus(props.activeWindow());
+        Map<Long, ActiveServiceCall> calls = callsByRestaurant.getOrDefault(restaurantId, Map.of());
+
+        var stream = calls.values().stream()
+                .filter(c -> !c.createdAt().isBefore(activeSince));
+
+        if (since != null) {
+            return stream.filter(c -> c.createdAt().isAfter(since))
+                    .sorted(Comparator.comparing(ActiveServiceCall::createdAt))
+                    .map(ActiveServiceCall::toResponse)
+                    .toList();
+        }
+        return stream.sorted(Comparator.comparing(ActiveServiceCall::createdAt).reversed())
+                .map(ActiveServiceCall::toResponse)
+                .toList();
+    }
+
+    @TransactionalEventListener
+    public void onServiceCallCreated(ServiceCallCreatedEvent event) {
+        ActiveServiceCall call = event.call();
+        register(call);
+        broadcaster.publish(StreamTopic.SERVICE_CALLS, call.restaurantId(), CALL_CREATED, call.toResponse());
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void expireCalls() {
+        Instant activeSince = Instant.now().minus(props.activeWindow());
+
+        // single consumer (scheduler thread): peek + poll return the same element
+        ActiveServiceCall head;
+        while ((head = expiryQueue.peek()) != null && head.createdAt().isBefore(activeSince)) {
+            expiryQueue.poll();
+            Map<Long, ActiveServiceCall> calls = callsByRestaurant.get(head.restaurantId());
+            if (calls != null && calls.remove(head.id()) != null) {
+                broadcaster.publish(StreamTopic.SERVICE_CALLS, head.restaurantId(), CALL_EXPIRED, head.toResponse());
+            }
+        }
+    }
+
+    /**
+     * Snapshot used as first event of a new stream.
+     */
+    public List<ServiceCallResponse> snapshot(Long restaurantId) {
+        return getActiveCalls(restaurantId, null);
+    }
+
+    private void register(ActiveServiceCall call) {
+        callsByRestaurant.computeIfAbsent(call.restaurantId(), id -> new ConcurrentHashMap<>())
+                .put(call.id(), call);
+        expiryQueue.add(call);
+    }
+}
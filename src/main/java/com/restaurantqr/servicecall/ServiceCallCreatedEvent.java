@@ -0,0 +1,6 @@
+package com.restaurantqr.servicecall;
+
+/**
+ * Published inside the create transaction; listeners act after commit.
+ */
+public record ServiceCallCreatedEvent(ActiveServiceCall call) {}
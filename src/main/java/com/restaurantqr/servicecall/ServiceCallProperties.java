@@ -0,0 +1,10 @@
+package com.restaurantqr.servicecall;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.service-calls")
+public record ServiceCallProperties(
+        Duration activeWindow
+) {}
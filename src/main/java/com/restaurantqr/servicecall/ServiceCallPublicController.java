@@ -56,7 +56,7 @@ public class ServiceCallPublicController {
             @PathVariable String qrToken,
             @Valid @RequestBody CreateServiceCallRequest request
     ) {
-        log.info("POST /public/tables/{}/service-calls", qrToken);
+        log.debug("POST /public/tables/{}/service-calls", qrToken);
         ServiceCallResponse resp = serviceCallService.createCall(qrToken, request);
         return ResponseEntity.status(HttpStatus.CREATED).body(resp);
     }
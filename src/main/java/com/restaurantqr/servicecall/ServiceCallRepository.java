@@ -8,28 +8,18 @@ import java.util.List;
 
 public interface ServiceCallRepository extends JpaRepository<ServiceCall, Long> {
 
-    // الوضع الحالي (initial load)
-    List<ServiceCall> findByRestaurantIdAndCreatedAtAfterOrderByCreatedAtDesc(
-            Long restaurantId,
-            Instant threshold
-    );
-
     // منع spam (موجود عندك)
     boolean existsByTableIdAndCreatedAtAfter(Long tableId, Instant threshold);
 
-    //  Polling: get new service calls
+    // Warm-up of ActiveServiceCallRegistry (all restaurants)
     @Query("""
-        select c
+        select new com.restaurantqr.servicecall.ActiveServiceCall(
+            c.restaurant.id, c.id, t.tableNumber, c.callType, c.createdAt)
         from ServiceCall c
-        where c.restaurant.id = :restaurantId
-          and c.createdAt > :since
-          and c.createdAt >= :activeSince
+        join c.table t
+        where c.createdAt >= :activeSince
         order by c.createdAt asc
     """)
-    List<ServiceCall> findNewActiveCalls(
-            Long restaurantId,
-            Instant since,
-            Instant activeSince
-    );
+    List<ActiveServiceCall> findActiveCallsSince(Instant activeSince);
 }
 
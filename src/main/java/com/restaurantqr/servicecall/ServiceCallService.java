@@ -4,12 +4,26 @@ package com.restaurantqr.servicecall;
 import com.restaurantqr.exception.BusinessRuleException;
 import com.restaurantqr.exception.RateLimitException;
 import com.restaurantqr.exception.ResourceNotFoundException;
+import com.restaurantqr.logging.LogSampler;
+import com.restaurantqr.metrics.HotPathMetrics;
+import com.restaurantqr.ratelimit.RateLimitProperties;
+import com.restaurantqr.ratelimit.TableAction;
+import com.restaurantqr.ratelimit.TableRateLimiter;
+import com.restaurantqr.realtime.RestaurantEventBroadcaster;
+import com.restaurantqr.realtime.StreamTopic;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.ResolvedTable;
 import com.restaurantqr.table.RestaurantTable;
 import com.restaurantqr.table.RestaurantTableRepository;
+import com.restaurantqr.tracing.StageTracer;
+import io.micrometer.core.instrument.Tags;
 import org.slf4j.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 
@@ -17,24 +31,66 @@ import java.util.List;
 public class ServiceCallService {
 
     private static final Logger log = LoggerFactory.getLogger(ServiceCallService.class);
+    // per-request lines on the polling paths: sampled debug, never INFO
+    private static final LogSampler POLL_LOG = LogSampler.perInterval(Duration.ofSeconds(1));
 
+    private final QrTokenResolver qrTokenResolver;
+    private final TableRateLimiter rateLimiter;
+    private final RateLimitProperties rateLimitProperties;
     private final RestaurantTableRepository tableRepository;
     private final ServiceCallRepository serviceCallRepository;
-
-    public ServiceCallService(RestaurantTableRepository tableRepository,
-                              ServiceCallRepository serviceCallRepository) {
+    private final ActiveServiceCallRegistry activeCallRegistry;
+    private final RestaurantEventBroadcaster broadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotPathMetrics metrics;
+    private final StageTracer tracer;
+
+    public ServiceCallService(QrTokenResolver qrTokenResolver,
+                              TableRateLimiter rateLimiter,
+                              RateLimitProperties rateLimitProperties,
+                              RestaurantTableRepository tableRepository,
+                              ServiceCallRepository serviceCallRepository,
+                              ActiveServiceCallRegistry activeCallRegistry,
+                              RestaurantEventBroadcaster broadcaster,
+                              ApplicationEventPublisher eventPublisher,
+                              HotPathMetrics metrics,
+                              StageTracer tracer) {
+        this.qrTokenResolver = qrTokenResolver;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitProperties = rateLimitProperties;
         this.tableRepository = tableRepository;
         this.serviceCallRepository = serviceCallRepository;
+        this.activeCallRegistry = activeCallRegistry;
+        this.broadcaster = broadcaster;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+        this.tracer = tracer;
     }
 
     @Transactional
     public ServiceCallResponse createCall(String qrToken, CreateServiceCallRequest request) {
-        log.info("Create service call request. qrToken={}, callType={}", qrToken, request.callType());
+        log.debug("Create service call request. qrToken={}, callType={}", qrToken, request.callType());
+
+        ResolvedTable resolved = qrTokenResolver.resolveActive(qrToken);
+
+        return metrics.time("service.calls.create", resolved.restaurantId(), () -> create(qrToken, resolved, request));
+    }
+
+    private ServiceCallResponse create(String qrToken, ResolvedTable resolved, CreateServiceCallRequest request) {
+        // Anti-spam cool-down- the customer should wait until the previous request expires before sending new one
+        TableRateLimiter.Permit permit = rateLimiter.tryAcquire(resolved.tableId(), TableAction.SERVICE_CALL)
+                .orElseThrow(() -> {
+                    log.warn("ServiceCall spam blocked. tableId={}", resolved.tableId());
+                    return new RateLimitException("Please wait until the previous service request expires before submitting a new request.");
+                });
+        rateLimiter.releaseUnlessCommitted(permit);
 
         // ✅ lock table row to avoid spam race condition
-        RestaurantTable table = tableRepository.findActiveByQrTokenForUpdate(qrToken)
+        RestaurantTable table = tracer.stage("table_lock", () -> metrics.time("tables.lock.wait", resolved.restaurantId(),
+                        Tags.of("action", "service_call"), () -> tableRepository.findActiveByIdForUpdate(resolved.tableId())))
                 .orElseThrow(() -> {
                     log.warn("Invalid/inactive QR token for service call. qrToken={}", qrToken);
+                    qrTokenResolver.evict(qrToken);
                     return new ResourceNotFoundException("Invalid or inactive QR token");
                 });
 
@@ -44,13 +100,14 @@ public class ServiceCallService {
             throw new BusinessRuleException("Restaurant is inactive");
         }
 
-        // Anti-spam cool-down- the customer should wait until the previous request expires before sending new one
-        int cooldownSeconds = 180;
-        Instant threshold = Instant.now().minusSeconds(cooldownSeconds);
+        // DB check behind the lock stays authoritative (other instances, restarts)
+        Duration cooldown = rateLimitProperties.serviceCallWindow();
+        Instant threshold = Instant.now().minus(cooldown);
 
-        boolean spam = serviceCallRepository.existsByTableIdAndCreatedAtAfter(table.getId(), threshold);
+        boolean spam = tracer.stage("rate_limit_check",
+                () -> serviceCallRepository.existsByTableIdAndCreatedAtAfter(table.getId(), threshold));
         if (spam) {
-            log.warn("ServiceCall spam blocked. tableId={}, cooldownSeconds={}", table.getId(), cooldownSeconds);
+            log.warn("ServiceCall spam blocked. tableId={}, cooldownSeconds={}", table.getId(), cooldown.toSeconds());
             throw new RateLimitException("Please wait until the previous service request expires before submitting a new request.");
         }
 
@@ -59,11 +116,20 @@ public class ServiceCallService {
         call.setTable(table);
         call.setCallType(request.callType());
 
-        ServiceCall saved = serviceCallRepository.save(call);
+        ServiceCall saved = tracer.stage("insert_call", () -> serviceCallRepository.save(call));
 
         log.info("Service call created. id={}, restaurantId={}, tableId={}",
                 saved.getId(), restaurant.getId(), table.getId());
 
+        // registry + staff streams are updated after commit
+        eventPublisher.publishEvent(new ServiceCallCreatedEvent(new ActiveServiceCall(
+                restaurant.getId(),
+                saved.getId(),
+                table.getTableNumber(),
+                saved.getCallType(),
+                saved.getCreatedAt()
+        )));
+
         return new ServiceCallResponse(
                 saved.getId(),
                 table.getTableNumber(),
@@ -73,40 +139,23 @@ public class ServiceCallService {
     }
 
 
-    @Transactional(readOnly = true)
+    /**
+     * Served from {@link ActiveServiceCallRegistry}; polling no longer reaches the DB.
+     */
     public List<ServiceCallResponse> getActiveCalls(Long restaurantId, Instant since) {
-
-        Instant activeSince = Instant.now().minusSeconds(180); // 3 minutes
-        log.info("Get active service calls. restaurantId={}, since={}", restaurantId, since);
-
-        List<ServiceCall> calls;
-
-        // Polling mode
-        if (since != null) {
-            calls = serviceCallRepository.findNewActiveCalls(
-                    restaurantId,
-                    since,
-                    activeSince
-            );
-        }
-        // Initial load
-        else {
-            calls = serviceCallRepository
-                    .findByRestaurantIdAndCreatedAtAfterOrderByCreatedAtDesc(
-                            restaurantId,
-                            activeSince
-                    );
+        if (log.isDebugEnabled() && POLL_LOG.sample()) {
+            log.debug("Get active service calls. restaurantId={}, since={}", restaurantId, since);
         }
+        return activeCallRegistry.getActiveCalls(restaurantId, since);
+    }
 
-        return calls.stream()
-                .map(c -> new ServiceCallResponse(
-                        c.getId(),
-                        c.getTable().getTableNumber(),
-                        c.getCallType(),
-                        c.getCreatedAt()
-                ))
-                .toList();
+    /**
+     * Live stream: snapshot of active calls first, then created / expired events.
+     */
+    public SseEmitter streamCalls(Long restaurantId, String lastEventId) {
+        log.info("Open service call stream. restaurantId={}, lastEventId={}", restaurantId, lastEventId);
+        return broadcaster.subscribe(StreamTopic.SERVICE_CALLS, restaurantId, lastEventId,
+                ActiveServiceCallRegistry.CALL_SNAPSHOT, () -> activeCallRegistry.snapshot(restaurantId));
     }
 
 }
-
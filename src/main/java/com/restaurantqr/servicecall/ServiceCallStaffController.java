@@ -12,8 +12,10 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.List;
@@ -77,4 +79,42 @@ public class ServiceCallStaffController {
         return serviceCallService.getActiveCalls(principal.restaurantId(), since);
     }
 
+    @Operation(
+            summary = "Stream active service calls (Server-Sent Events)",
+            description = """
+                Push alternative to polling `GET /service-calls`.
+
+                **Events**
+                - `service-call.snapshot`: list of currently active calls (first event of a new stream)
+                - `service-call.created`: a table called a waiter / asked for the bill
+                - `service-call.expired`: the call left its 3 minute active window (remove it from the screen)
+
+                **Resume**
+                - Reconnect with the `Last-Event-ID` header to receive missed events;
+                  if they are no longer available a fresh snapshot is sent instead.
+                - Clients should de-duplicate calls by `id`.
+
+                **Restaurant isolation**
+                - Enforced using `restaurantId` claim in JWT.
+                """,
+            security = @SecurityRequirement(name = OpenApiConfig.SECURITY_SCHEME_NAME)
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid JWT",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class))),
+            @ApiResponse(responseCode = "429", description = "Too many open streams for this restaurant",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiErrorResponse.class)))
+    })
+    @GetMapping(value = "/service-calls/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCalls(
+            Authentication authentication,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        AuthPrincipal principal = (AuthPrincipal) authentication.getPrincipal();
+        return serviceCallService.streamCalls(principal.restaurantId(), lastEventId);
+    }
+
 }
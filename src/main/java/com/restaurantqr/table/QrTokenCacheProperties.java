@@ -0,0 +1,13 @@
+package com.restaurantqr.table;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.qr-token.cache")
+public record QrTokenCacheProperties(
+        long maxSize,
+        Duration ttl,
+        long negativeMaxSize,
+        Duration negativeTtl
+) {}
@@ -0,0 +1,129 @@
+package com.restaurantqr.table;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.restaurantqr.exception.BusinessRuleException;
+import com.restaurantqr.exception.ResourceNotFoundException;
+import com.restaurantqr.logging.RequestLogContext;
+import com.restaurantqr.restaurant.RestaurantChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves QR tokens for the public endpoints (menu, orders, service calls).
+ *
+ * Known tokens are cached with their table/restaurant state, unknown tokens are
+ * cached negatively for a shorter time, so probing random tokens does not reach the DB.
+ * Write paths must still re-check the locked table row (the cache may be stale until invalidated).
+ */
+@Component
+public class QrTokenResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(QrTokenResolver.class);
+
+    // qr_token column is VARCHAR(255); anything longer cannot exist
+    private static final int MAX_TOKEN_LENGTH = 255;
+
+    private final RestaurantTableRepository tableRepository;
+
+    private final Cache<String, ResolvedTable> tables;
+    private final Cache<String, Boolean> unknownTokens;
+
+    // bumped on every invalidation; a DB read that raced with one is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public QrTokenResolver(RestaurantTableRepository tableRepository,
+                           QrTokenCacheProperties props,
+                           MeterRegistry meterRegistry) {
+        this.tableRepository = tableRepository;
+        this.tables = Caffeine.newBuilder()
+                .maximumSize(props.maxSize())
+                .expireAfterWrite(props.ttl())
+                .recordStats()
+                .build();
+        this.unknownTokens = Caffeine.newBuilder()
+                .maximumSize(props.negativeMaxSize())
+                .expireAfterWrite(props.negativeTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tables, "qr.tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownTokens, "qr.tokens.unknown");
+    }
+
+    public Optional<ResolvedTable> resolve(String qrToken) {
+        if (qrToken == null || qrToken.isBlank() || qrToken.length() > MAX_TOKEN_LENGTH) {
+            return Optional.empty();
+        }
+
+        ResolvedTable cached = tables.getIfPresent(qrToken);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (unknownTokens.getIfPresent(qrToken) != null) {
+            return Optional.empty();
+        }
+
+        long gen = generation.get();
+        Optional<ResolvedTable> loaded = tableRepository.resolveByQrToken(qrToken);
+        if (gen != generation.get()) {
+            return loaded;
+        }
+        if (loaded.isPresent()) {
+            tables.put(qrToken, loaded.get());
+        } else {
+            unknownTokens.put(qrToken, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Resolves a token that must point to an active table of an active restaurant.
+     */
+    public ResolvedTable resolveActive(String qrToken) {
+        ResolvedTable table = resolve(qrToken)
+                .filter(ResolvedTable::tableActive)
+                .orElseThrow(() -> {
+                    log.warn("Invalid or inactive QR token. qrToken={}", qrToken);
+                    return new ResourceNotFoundException("Invalid or inactive QR token");
+                });
+
+        if (!table.restaurantActive()) {
+            log.warn("Restaurant inactive. restaurantId={}, qrToken={}", table.restaurantId(), qrToken);
+            throw new BusinessRuleException("Restaurant is inactive");
+        }
+        RequestLogContext.putTable(table.restaurantId(), table.tableId());
+        return table;
+    }
+
+    public void evict(String qrToken) {
+        generation.incrementAndGet();
+        tables.invalidate(qrToken);
+        unknownTokens.invalidate(qrToken);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTableChanged(TableChangedEvent event) {
+        // the token itself may have changed -> drop by table id as well
+        generation.incrementAndGet();
+        tables.asMap().values().removeIf(t -> t.tableId().equals(event.tableId()));
+        if (event.qrToken() != null) {
+            evict(event.qrToken());
+        }
+        log.debug("QR token cache invalidated for table. tableId={}", event.tableId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        generation.incrementAndGet();
+        tables.asMap().values().removeIf(t -> t.restaurantId().equals(event.restaurantId()));
+        log.debug("QR token cache invalidated for restaurant. restaurantId={}", event.restaurantId());
+    }
+}
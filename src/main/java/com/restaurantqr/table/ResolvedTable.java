@@ -0,0 +1,13 @@
+package com.restaurantqr.table;
+
+/**
+ * What public endpoints need to know about a QR token, without touching the entities.
+ */
+public record ResolvedTable(
+        Long tableId,
+        Integer tableNumber,
+        Long restaurantId,
+        String restaurantName,
+        boolean restaurantActive,
+        boolean tableActive
+) {}
@@ -8,6 +8,7 @@ import lombok.*;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(TableEntityListener.class)
 @Table(name = "restaurant_tables")
 
 public class RestaurantTable {
@@ -24,4 +24,25 @@ public interface RestaurantTableRepository extends JpaRepository<RestaurantTable
              and t.isActive = true
            """)
     Optional<RestaurantTable> findActiveByQrTokenForUpdate(@Param("qrToken") String qrToken);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("""
+           select t
+           from RestaurantTable t
+           join fetch t.restaurant r
+           where t.id = :tableId
+             and t.isActive = true
+           """)
+    Optional<RestaurantTable> findActiveByIdForUpdate(@Param("tableId") Long tableId);
+
+    // QR resolution cache: inactive tables are returned too, so they can be cached
+    @Query("""
+           select new com.restaurantqr.table.ResolvedTable(
+               t.id, t.tableNumber, r.id, r.name, r.isActive, t.isActive)
+           from RestaurantTable t
+           join t.restaurant r
+           where t.qrToken = :qrToken
+           """)
+    Optional<ResolvedTable> resolveByQrToken(@Param("qrToken") String qrToken);
 }
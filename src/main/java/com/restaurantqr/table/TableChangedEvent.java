@@ -0,0 +1,3 @@
+package com.restaurantqr.table;
+
+public record TableChangedEvent(Long tableId, Long restaurantId, String qrToken) {}
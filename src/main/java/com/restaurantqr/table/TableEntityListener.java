@@ -0,0 +1,25 @@
+package com.restaurantqr.table;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TableEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public TableEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onTableChange(RestaurantTable table) {
+        Long restaurantId = table.getRestaurant() != null ? table.getRestaurant().getId() : null;
+        publisher.publishEvent(new TableChangedEvent(table.getId(), restaurantId, table.getQrToken()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.restaurantqr.tracing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds every executed JDBC statement / batch and its execution time to the current {@link RequestTrace}.
+ * Instantiated by Hibernate per session ({@code hibernate.session.events.auto}), so the start time needs no sync.
+ */
+public class JdbcStatementListener implements SessionEventListener {
+
+    private long executeStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTrace.recordStatement(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTrace.recordStatement(System.nanoTime() - executeStart);
+    }
+}
@@ -0,0 +1,97 @@
+package com.restaurantqr.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stage breakdown of the request running on the current thread. Started and ended by {@link RequestTraceFilter},
+ * stages are opened through {@link StageTracer}, JDBC statements are added by {@link JdbcStatementListener}
+ * to the innermost open stage (or to the request itself outside any stage). Single-threaded by design.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final List<StageTiming> stages = new ArrayList<>();
+    private Span current;
+    private int statements;
+    private long jdbcNanos;
+
+    private RequestTrace() {
+    }
+
+    static RequestTrace start() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(long nanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.onStatement(nanos);
+        }
+    }
+
+    Span enter(String name) {
+        current = new Span(name, current);
+        return current;
+    }
+
+    void exit(Span span) {
+        stages.add(new StageTiming(span.name, millis(System.nanoTime() - span.startNanos),
+                span.statements, millis(span.jdbcNanos)));
+        current = span.parent;
+    }
+
+    private void onStatement(long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (current != null) {
+            current.statements++;
+            current.jdbcNanos += nanos;
+        }
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    double jdbcMillis() {
+        return millis(jdbcNanos);
+    }
+
+    List<StageTiming> stages() {
+        return List.copyOf(stages);
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static final class Span {
+        private final String name;
+        private final Span parent;
+        private final long startNanos = System.nanoTime();
+        private int statements;
+        private long jdbcNanos;
+
+        private Span(String name, Span parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+    }
+}
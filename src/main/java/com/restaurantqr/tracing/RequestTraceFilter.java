@@ -0,0 +1,69 @@
+package com.restaurantqr.tracing;
+
+import com.restaurantqr.logging.RequestLogContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Opens a {@link RequestTrace} for every API request and hands slow ones to the {@link SlowRequestLog}.
+ * Streams are skipped: their duration is the connection lifetime, not work.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    private final SlowRequestLog slowRequestLog;
+
+    public RequestTraceFilter(SlowRequestLog slowRequestLog) {
+        this.slowRequestLog = slowRequestLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTrace trace = RequestTrace.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace.end();
+            long nanos = trace.elapsedNanos();
+            if (!request.isAsyncStarted() && slowRequestLog.isSlow(nanos)) {
+                slowRequestLog.record(toSlowRequest(trace, nanos, request, response), nanos);
+            }
+        }
+    }
+
+    private static SlowRequest toSlowRequest(RequestTrace trace, long nanos,
+                                             HttpServletRequest request, HttpServletResponse response) {
+        // route pattern, not the URI: public paths carry the table's QR token
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return new SlowRequest(
+                Instant.now(),
+                MDC.get(RequestLogContext.REQUEST_ID),
+                request.getMethod(),
+                pattern != null ? pattern.toString() : "unmatched",
+                response.getStatus(),
+                RequestTrace.millis(nanos),
+                trace.statements(),
+                trace.jdbcMillis(),
+                trace.stages()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.restaurantqr.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One traced request; {@code statements} / {@code jdbcMs} include the work outside any stage
+ * (e.g. the flush on commit).
+ */
+public record SlowRequest(
+        Instant finishedAt,
+        String requestId,
+        String method,
+        String route,
+        int status,
+        double durationMs,
+        int statements,
+        double jdbcMs,
+        List<StageTiming> stages
+) {}
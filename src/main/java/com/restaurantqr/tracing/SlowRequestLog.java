@@ -0,0 +1,65 @@
+package com.restaurantqr.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ring buffer of the most recent requests slower than {@code app.tracing.slow-requests.threshold}
+ * (per instance, in memory). Requests over {@code log-threshold} are also logged with their breakdown,
+ * which is the offline export: the log file.
+ */
+@Component
+public class SlowRequestLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowRequestLog.class);
+
+    private final SlowRequestProperties props;
+    private final long thresholdNanos;
+    private final long logThresholdNanos;
+    private final ArrayDeque<SlowRequest> recent;
+
+    public SlowRequestLog(SlowRequestProperties props) {
+        this.props = props;
+        this.thresholdNanos = props.threshold().toNanos();
+        this.logThresholdNanos = props.logThreshold().toNanos();
+        this.recent = new ArrayDeque<>(props.capacity());
+    }
+
+    boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    void record(SlowRequest request, long nanos) {
+        synchronized (recent) {
+            if (recent.size() == props.capacity()) {
+                recent.removeFirst();
+            }
+            recent.addLast(request);
+        }
+        if (nanos >= logThresholdNanos) {
+            log.warn("Slow request. route={} {}, status={}, durationMs={}, statements={}, jdbcMs={}, stages={}",
+                    request.method(), request.route(), request.status(), request.durationMs(),
+                    request.statements(), request.jdbcMs(), request.stages());
+        }
+    }
+
+    /**
+     * The {@code app.tracing.slow-requests.limit} slowest of the recent slow requests, slowest first.
+     */
+    public List<SlowRequest> slowest() {
+        List<SlowRequest> copy;
+        synchronized (recent) {
+            copy = new ArrayList<>(recent);
+        }
+        return copy.stream()
+                .sorted(Comparator.comparingDouble(SlowRequest::durationMs).reversed())
+                .limit(props.limit())
+                .toList();
+    }
+}
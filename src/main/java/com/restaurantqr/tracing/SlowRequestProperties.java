@@ -0,0 +1,13 @@
+package com.restaurantqr.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.tracing.slow-requests")
+public record SlowRequestProperties(
+        Duration threshold,
+        Duration logThreshold,
+        int capacity,
+        int limit
+) {}
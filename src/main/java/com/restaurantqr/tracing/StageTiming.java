@@ -0,0 +1,8 @@
+package com.restaurantqr.tracing;
+
+public record StageTiming(
+        String stage,
+        double durationMs,
+        int statements,
+        double jdbcMs
+) {}
@@ -0,0 +1,37 @@
+package com.restaurantqr.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Named stages inside a service call. Each stage is a Micrometer {@link Observation} ({@code request.stage},
+ * tagged {@code stage}), so it becomes a timer today and a span once a tracing bridge (OpenTelemetry) is added;
+ * it is also recorded in the {@link RequestTrace} with its JDBC statements for the slow request log.
+ */
+@Component
+public class StageTracer {
+
+    private final ObservationRegistry observationRegistry;
+
+    public StageTracer(ObjectProvider<ObservationRegistry> observationRegistry) {
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    public <T> T stage(String name, Supplier<T> body) {
+        RequestTrace trace = RequestTrace.current();
+        RequestTrace.Span span = trace != null ? trace.enter(name) : null;
+        try {
+            return Observation.createNotStarted("request.stage", observationRegistry)
+                    .lowCardinalityKeyValue("stage", name)
+                    .observe(body);
+        } finally {
+            if (span != null) {
+                trace.exit(span);
+            }
+        }
+    }
+}
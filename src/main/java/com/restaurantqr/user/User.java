@@ -7,6 +7,7 @@ import java.time.Instant;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserEntityListener.class)
 
 public class User {
 
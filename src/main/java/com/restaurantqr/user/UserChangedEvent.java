@@ -0,0 +1,3 @@
+package com.restaurantqr.user;
+
+public record UserChangedEvent(String username) {}
@@ -0,0 +1,23 @@
+package com.restaurantqr.user;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public UserEntityListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    // a new or renamed user may be cached as an unknown username
+    @PostPersist
+    @PostUpdate
+    public void onUserChange(User user) {
+        publisher.publishEvent(new UserChangedEvent(user.getUsername()));
+    }
+}
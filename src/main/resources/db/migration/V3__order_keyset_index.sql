@@ -0,0 +1,5 @@
+-- Keyset paging orders by (created_at, id); include id explicitly so both
+-- the newest-first listing and the oldest-first polling read the index in order.
+ALTER TABLE customer_orders
+  DROP INDEX idx_orders_restaurant_created_at,
+  ADD INDEX idx_orders_restaurant_created_at (restaurant_id, created_at, id);
@@ -0,0 +1,11 @@
+-- Pooled id generator for order_items (allocation size 50), so Hibernate can batch item inserts.
+-- Hibernate hands out ids (next_val - 49 .. next_val) and then increments next_val by 50,
+-- so the first block has to start after the current AUTO_INCREMENT range.
+CREATE TABLE id_generators (
+  name     VARCHAR(255) NOT NULL,
+  next_val BIGINT NOT NULL,
+  PRIMARY KEY (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (name, next_val)
+SELECT 'order_items', COALESCE(MAX(id), 0) + 51 FROM order_items;
@@ -0,0 +1,3 @@
+-- customer_orders joins the pooled id generator (allocation size 50), see V4.
+INSERT INTO id_generators (name, next_val)
+SELECT 'customer_orders', COALESCE(MAX(id), 0) + 51 FROM customer_orders;
@@ -0,0 +1,18 @@
+-- Rotating refresh tokens (stored as SHA-256 hashes only)
+CREATE TABLE refresh_tokens (
+  id             BIGINT NOT NULL AUTO_INCREMENT,
+  user_id        BIGINT NOT NULL,
+  token_hash     VARCHAR(64) NOT NULL,
+  family_id      VARCHAR(36) NOT NULL,
+  created_at     DATETIME(6) NOT NULL,
+  expires_at     DATETIME(6) NOT NULL,
+  revoked_at     DATETIME(6) NULL,
+  replaced_by_id BIGINT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY uk_refresh_tokens_hash (token_hash),
+  KEY idx_refresh_tokens_user (user_id),
+  KEY idx_refresh_tokens_family (family_id),
+  CONSTRAINT fk_refresh_tokens_user
+    FOREIGN KEY (user_id) REFERENCES users(id)
+    ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,7 @@
+-- Optimistic locking and lifecycle timestamps (kitchen latency analytics)
+ALTER TABLE customer_orders
+  ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+  ADD COLUMN ready_at DATETIME(6) NULL,
+  ADD COLUMN served_at DATETIME(6) NULL,
+  ADD COLUMN paid_at DATETIME(6) NULL,
+  ADD COLUMN cancelled_at DATETIME(6) NULL;
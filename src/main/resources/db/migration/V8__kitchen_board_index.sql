@@ -0,0 +1,3 @@
+-- The kitchen board snapshot and its eviction both use the time an order was sent to the kitchen.
+CREATE INDEX idx_customer_orders_restaurant_status_sent
+  ON customer_orders (restaurant_id, status, sent_to_kitchen_at);
@@ -0,0 +1,119 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.auth.dto.LoginResponse;
+import com.restaurantqr.exception.InvalidCredentialsException;
+import com.restaurantqr.restaurant.Restaurant;
+import com.restaurantqr.user.Role;
+import com.restaurantqr.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final String FAMILY = "family-1";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private TokenRevocationList revocationList;
+
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenService(refreshTokenRepository, jwtService, revocationList,
+                new RefreshTokenProperties(Duration.ofDays(14)));
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(1L);
+        user = new User();
+        user.setId(42L);
+        user.setRestaurant(restaurant);
+        user.setRole(Role.STAFF);
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesTheWholeFamilyAndTheUsersAccessTokens() {
+        RefreshToken rotated = token(10L);
+        rotated.setRevokedAt(Instant.now().minusSeconds(30));
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(rotated));
+
+        assertThatThrownBy(() -> service.refresh("stolen"))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY), any(Instant.class));
+        verify(revocationList).revokeUser(42L);
+        verify(refreshTokenRepository, never()).markRotated(any(), any());
+        verify(refreshTokenRepository, never()).save(any());
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void losingTheRotationRaceIsTreatedAsReuse() {
+        RefreshToken current = token(10L);
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markRotated(eq(10L), any(Instant.class))).thenReturn(0);
+
+        assertThatThrownBy(() -> service.refresh("raced"))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        verify(refreshTokenRepository).revokeFamily(eq(FAMILY), any(Instant.class));
+        verify(revocationList).revokeUser(42L);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void refreshRotatesWithinTheSameFamily() {
+        RefreshToken current = token(10L);
+        when(refreshTokenRepository.findByTokenHashWithUser(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.markRotated(eq(10L), any(Instant.class))).thenReturn(1);
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(inv -> {
+            RefreshToken saved = inv.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", 11L);
+            return saved;
+        });
+        when(jwtService.generateToken(42L, "STAFF", 1L)).thenReturn("access");
+
+        LoginResponse response = service.refresh("valid");
+
+        assertThat(response.token()).isEqualTo("access");
+        assertThat(response.refreshToken()).isNotEqualTo("valid");
+        verify(refreshTokenRepository).save(argThat(t -> FAMILY.equals(t.getFamilyId())));
+        verify(refreshTokenRepository).setReplacedBy(10L, 11L);
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+        verifyNoInteractions(revocationList);
+    }
+
+    private RefreshToken token(Long id) {
+        RefreshToken token = new RefreshToken();
+        ReflectionTestUtils.setField(token, "id", id);
+        token.setUser(user);
+        token.setTokenHash("hash-" + id);
+        token.setFamilyId(FAMILY);
+        token.setExpiresAt(Instant.now().plus(Duration.ofDays(1)));
+        return token;
+    }
+}
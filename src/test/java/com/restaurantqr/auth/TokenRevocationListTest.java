@@ -0,0 +1,52 @@
+package com.restaurantqr.auth;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationListTest {
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        revocationList = new TokenRevocationList(
+                new TokenRevocationProperties(1_000, 0.01),
+                new JwtProperties("unused", "restaurant-qr", 15),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void userCutoffRevokesTokensIssuedInTheSameSecond() {
+        // iat has second precision, like the JWTs JwtService issues
+        Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        revocationList.revokeUser(42L);
+        Instant after = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        assertThat(revocationList.isRevoked(token(42L, "a", before))).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, "b", before.minusSeconds(60)))).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, "c", after.plusSeconds(1)))).isFalse();
+        assertThat(revocationList.isRevoked(token(7L, "d", before))).isFalse();
+    }
+
+    @Test
+    void singleTokenRevocationOnlyCoversThatJti() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        revocationList.revoke(token(42L, "logged-out", now));
+
+        assertThat(revocationList.isRevoked(token(42L, "logged-out", now))).isTrue();
+        assertThat(revocationList.isRevoked(token(42L, "other-device", now))).isFalse();
+    }
+
+    private static VerifiedToken token(Long userId, String jti, Instant issuedAt) {
+        return new VerifiedToken(new AuthPrincipal(userId, "STAFF", 1L), List.of(), jti,
+                issuedAt, issuedAt.plusSeconds(900));
+    }
+}
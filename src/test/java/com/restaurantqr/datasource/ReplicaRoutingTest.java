@@ -0,0 +1,136 @@
+package com.restaurantqr.datasource;
+
+import com.restaurantqr.auth.dto.AuthPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two H2 databases, each answering {@code SELECT name FROM node} with its own role, behind the same
+ * {@link LazyConnectionDataSourceProxy} wiring as {@link ReadReplicaConfig}.
+ */
+class ReplicaRoutingTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private DriverManagerDataSource primaryDb;
+    private DriverManagerDataSource replicaDb;
+    private ReplicaRouter router;
+    private ReadYourWrites readYourWrites;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primaryDb = h2("primary");
+        replicaDb = h2("replica");
+        new JdbcTemplate(replicaDb).execute("CREATE TABLE replica_lag (seconds INT)");
+        new JdbcTemplate(replicaDb).update("INSERT INTO replica_lag VALUES (0)");
+
+        ReadReplicaProperties props = new ReadReplicaProperties(
+                true,
+                List.of(new ReadReplicaProperties.Replica(
+                        "replica-1", replicaDb.getUrl(), "sa", "", 2)),
+                MAX_LAG,
+                Duration.ofSeconds(5),
+                "SELECT seconds FROM replica_lag",
+                Duration.ofSeconds(30));
+        readYourWrites = new ReadYourWrites(props);
+        router = new ReplicaRouter(props, readYourWrites);
+        router.checkReplicas();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDb);
+        dataSource.setReadOnlyDataSource(router.readOnlyDataSource(primaryDb));
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(txManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        router.close();
+        new JdbcTemplate(primaryDb).execute("SHUTDOWN");
+    }
+
+    @Test
+    void readOnlyTransactionIsServedByTheReplica() {
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+        assertThat(router.fallbackCount()).isZero();
+    }
+
+    @Test
+    void readWriteTransactionGoesToThePrimary() {
+        assertThat(nodeIn(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaLagsBeyondMaxLag() {
+        new JdbcTemplate(replicaDb).update("UPDATE replica_lag SET seconds = ?", MAX_LAG.toSeconds() + 1);
+        router.checkReplicas();
+
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+        assertThat(router.fallbackCount()).isEqualTo(1);
+
+        new JdbcTemplate(replicaDb).update("UPDATE replica_lag SET seconds = 0");
+        router.checkReplicas();
+
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        new JdbcTemplate(replicaDb).execute("SHUTDOWN");
+        router.checkReplicas();
+
+        assertThat(router.replicas().get(0).healthy).isFalse();
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+        assertThat(router.fallbackCount()).isEqualTo(1);
+    }
+
+    @Test
+    void readsStayOnThePrimaryAfterTheSameUsersWrite() {
+        signIn(1L);
+        readWrite.executeWithoutResult(tx -> readYourWrites.markWrite());
+
+        assertThat(nodeIn(readOnly)).isEqualTo("primary");
+
+        signIn(2L);
+        assertThat(nodeIn(readOnly)).isEqualTo("replica");
+    }
+
+    private String nodeIn(TransactionTemplate tx) {
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static void signIn(Long userId) {
+        AuthPrincipal principal = new AuthPrincipal(userId, "STAFF", 1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        DriverManagerDataSource db = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(db);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return db;
+    }
+}
@@ -0,0 +1,73 @@
+package com.restaurantqr.order;
+
+import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.table.QrTokenResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements per submitted order, whatever its number of lines. Before the items were batched a 15-line
+ * order took 1 order insert + 15 item inserts + 1 order update on top of the lock and checks.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.seed.tables-per-restaurant=2",
+        // the dev secret is shorter than the 256 bits HS256 requires
+        "app.jwt.secret=test-secret-0123456789abcdef0123456789abcdef",
+        // keep scheduled DB work out of the measured window
+        "app.metrics.open-orders-refresh=1h"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderSubmitStatementCountTest {
+
+    private static final int LINES = 15;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private QrTokenResolver qrTokenResolver;
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private SubmitOrderRequest request;
+
+    @BeforeAll
+    void warmUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long restaurantId = qrTokenResolver.resolveActive("DEMO-TABLE-1").restaurantId();
+        qrTokenResolver.resolveActive("DEMO-TABLE-2");
+        Long itemId = menuItemRepository.findActiveAvailableItemDtos(restaurantId).get(0).id();
+        request = new SubmitOrderRequest(IntStream.rangeClosed(1, LINES)
+                .mapToObj(i -> new SubmitOrderItemRequest(itemId, i, null))
+                .toList(), null);
+
+        // loads the menu snapshot and the first id blocks (one per 50 ids, outside the order transaction)
+        orderService.submitOrder("DEMO-TABLE-1", request);
+    }
+
+    @Test
+    void fifteenLineOrderIsFiveStatements() {
+        statistics.clear();
+
+        SubmitOrderResponse response = orderService.submitOrder("DEMO-TABLE-2", request);
+
+        // table lock, rate limit check, item prices, order insert, one batched insert for all items
+        assertThat(statistics.getPrepareStatementCount()).as("prepared statements").isEqualTo(5);
+        assertThat(statistics.getEntityInsertCount()).as("rows inserted").isEqualTo(1 + LINES);
+        assertThat(response.totalAmount()).isPositive();
+        assertThat(response.orderId()).isNotNull();
+    }
+}
@@ -0,0 +1,149 @@
+package com.restaurantqr.order.intake;
+
+import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.order.CustomerOrderRepository;
+import com.restaurantqr.order.OrderIdAllocator;
+import com.restaurantqr.order.OrderService;
+import com.restaurantqr.order.SubmitOrderItemRequest;
+import com.restaurantqr.order.SubmitOrderRequest;
+import com.restaurantqr.order.SubmitOrderResponse;
+import com.restaurantqr.ratelimit.TableAction;
+import com.restaurantqr.ratelimit.TableRateLimiter;
+import com.restaurantqr.table.QrTokenResolver;
+import com.restaurantqr.table.ResolvedTable;
+import com.restaurantqr.table.RestaurantTable;
+import com.restaurantqr.table.RestaurantTableRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ASYNC intake: the 202 carries the reserved order id, and the writer repeats the checks the queue skipped.
+ */
+@SpringBootTest(properties = {
+        "app.orders.intake.mode=async",
+        "app.seed.tables-per-restaurant=4",
+        // the dev secret is shorter than the 256 bits HS256 requires
+        "app.jwt.secret=test-secret-0123456789abcdef0123456789abcdef",
+        "app.metrics.open-orders-refresh=1h"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderIntakeWriterTest {
+
+    @Autowired
+    private OrderIntakeService intakeService;
+    @Autowired
+    private OrderIntakeWriter writer;
+    @Autowired
+    private OrderTicketStore ticketStore;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderIdAllocator idAllocator;
+    @Autowired
+    private QrTokenResolver qrTokenResolver;
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+    @Autowired
+    private CustomerOrderRepository orderRepository;
+
+    private Long itemId;
+
+    @BeforeAll
+    void loadMenu() {
+        Long restaurantId = qrTokenResolver.resolveActive("DEMO-TABLE-1").restaurantId();
+        itemId = menuItemRepository.findActiveAvailableItemDtos(restaurantId).get(0).id();
+    }
+
+    @Test
+    void acceptedOrderIsStoredUnderTheIdOfTheResponse() throws InterruptedException {
+        SubmitOrderResponse accepted = intakeService.submit("DEMO-TABLE-1", null, request());
+
+        assertThat(accepted.status()).isEqualTo(OrderIntakeStatus.PENDING);
+        assertThat(accepted.orderId()).isNotNull();
+
+        SubmitOrderResponse stored = awaitWritten("DEMO-TABLE-1", accepted.ticketId());
+        assertThat(stored.status()).isEqualTo(OrderIntakeStatus.PERSISTED);
+        assertThat(stored.orderId()).isEqualTo(accepted.orderId());
+        assertThat(orderRepository.existsById(accepted.orderId())).isTrue();
+    }
+
+    @Test
+    void orderForATableWithARecentOrderInTheDatabaseFails() throws InterruptedException {
+        // stored through the synchronous path; the queued one stands in for another instance or a restart
+        orderService.submitOrder("DEMO-TABLE-2", request());
+
+        SubmitOrderResponse result = writeDirectly("DEMO-TABLE-2", qrTokenResolver.resolveActive("DEMO-TABLE-2"));
+
+        assertThat(result.status()).isEqualTo(OrderIntakeStatus.FAILED);
+        assertThat(result.error()).contains("one order per minute");
+    }
+
+    @Test
+    void orderForATableDeactivatedWhileQueuedFails() throws InterruptedException {
+        ResolvedTable resolved = qrTokenResolver.resolveActive("DEMO-TABLE-3");
+        RestaurantTable table = tableRepository.findById(resolved.tableId()).orElseThrow();
+        table.setActive(false);
+        tableRepository.save(table);
+
+        SubmitOrderResponse result = writeDirectly("DEMO-TABLE-3", resolved);
+
+        assertThat(result.status()).isEqualTo(OrderIntakeStatus.FAILED);
+        assertThat(result.error()).contains("inactive");
+        assertThat(orderRepository.existsByTableIdAndCreatedAtAfter(resolved.tableId(), Instant.EPOCH))
+                .isFalse();
+    }
+
+    @Test
+    void queuedOrderIsPricedFromTheMenuRow() throws InterruptedException {
+        // the queued line says 1.00, as if the accepting instance had an outdated menu
+        ResolvedTable resolved = qrTokenResolver.resolveActive("DEMO-TABLE-4");
+        BigDecimal price = menuItemRepository.findItemDtos(resolved.restaurantId(), List.of(itemId)).get(0).price();
+
+        SubmitOrderResponse result = writeDirectly("DEMO-TABLE-4", resolved);
+
+        assertThat(result.status()).isEqualTo(OrderIntakeStatus.PERSISTED);
+        assertThat(result.totalAmount()).isEqualByComparingTo(price);
+    }
+
+    /**
+     * Queues an order the way {@link OrderIntakeService} does, minus its in-memory admission check.
+     */
+    private SubmitOrderResponse writeDirectly(String qrToken, ResolvedTable table) throws InterruptedException {
+        OrderTicket ticket = OrderTicket.pending(UUID.randomUUID(), qrToken);
+        ticketStore.put(ticket);
+        PendingOrder pending = new PendingOrder(ticket.ticketId(), qrToken, idAllocator.nextOrderId(),
+                table.restaurantId(), table.tableId(), table.tableNumber(), null,
+                List.of(new PendingOrder.Line(itemId, 1, BigDecimal.ONE, BigDecimal.ONE, null)), BigDecimal.ONE,
+                new TableRateLimiter.Permit(table.tableId(), TableAction.ORDER, 0, 0));
+
+        assertThat(writer.offer(pending)).isTrue();
+        return awaitWritten(qrToken, ticket.ticketId());
+    }
+
+    private SubmitOrderResponse awaitWritten(String qrToken, UUID ticketId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            SubmitOrderResponse ticket = intakeService.getTicket(qrToken, ticketId);
+            if (ticket.status() != OrderIntakeStatus.PENDING) {
+                return ticket;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("ticket still pending: " + ticketId);
+    }
+
+    private SubmitOrderRequest request() {
+        return new SubmitOrderRequest(List.of(new SubmitOrderItemRequest(itemId, 2, null)), null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.restaurantqr.order.kitchen;
+
+import com.restaurantqr.order.OrderItemRepository;
+import com.restaurantqr.order.OrderSubmittedEvent;
+import com.restaurantqr.order.staff.OrderStatus;
+import com.restaurantqr.order.staff.OrderStatusBatchChangedEvent;
+import com.restaurantqr.order.staff.OrderStatusChangedEvent;
+import com.restaurantqr.order.staff.OrderStatusResponse;
+import com.restaurantqr.order.staff.OrderSummaryDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KitchenBoardServiceTest {
+
+    private static final Long RESTAURANT = 1L;
+    private static final Instant SENT = Instant.now().minusSeconds(60);
+
+    // order id -> its lines, as findKitchenLinesByOrderIds would return them
+    private static final Map<Long, List<KitchenLine>> LINES = Map.of(
+            1L, List.of(line(1L, 10L, "Burger", 2), line(1L, 20L, "Cola", 1)),
+            2L, List.of(line(2L, 10L, "Burger", 1)),
+            3L, List.of(line(3L, 20L, "Cola", 3)),
+            4L, List.of(line(4L, 30L, "Fries", 1)));
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private KitchenBoardService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KitchenBoardService(orderItemRepository, new KitchenProperties(Duration.ofHours(4), Duration.ofMinutes(1)),
+                new SimpleMeterRegistry());
+        lenient().when(orderItemRepository.findKitchenLinesByOrderIds(eq(RESTAURANT), anyCollection()))
+                .thenAnswer(inv -> inv.<Collection<Long>>getArgument(1).stream()
+                        .flatMap(id -> LINES.get(id).stream())
+                        .toList());
+    }
+
+    @Test
+    void rollupFollowsSubmitSendReadyAndBulkSend() {
+        givenSnapshot(List.of());
+        assertThat(service.getBoard(RESTAURANT).items()).isEmpty();
+
+        service.onOrderSubmitted(submitted(1L, OrderStatus.NEW));
+        service.onOrderSubmitted(submitted(2L, OrderStatus.SENT_TO_KITCHEN));
+        assertThat(totals()).containsOnly(entry("Burger", 1));
+
+        service.onOrderStatusChanged(changed(1L, OrderStatus.SENT_TO_KITCHEN));
+        assertThat(totals()).containsOnly(entry("Burger", 3), entry("Cola", 1));
+        assertThat(service.getBoard(RESTAURANT).orderCount()).isEqualTo(2);
+
+        service.onOrderStatusChanged(changed(2L, OrderStatus.READY));
+        KitchenBoardItem burger = service.getBoard(RESTAURANT).items().get(0);
+        assertThat(burger.totalQuantity()).isEqualTo(2);
+        assertThat(burger.orders()).extracting(KitchenBoardEntry::orderId).containsExactly(1L);
+
+        service.onOrderStatusBatchChanged(new OrderStatusBatchChangedEvent(RESTAURANT, List.of(
+                status(3L, OrderStatus.SENT_TO_KITCHEN),
+                status(4L, OrderStatus.SENT_TO_KITCHEN),
+                status(1L, OrderStatus.READY))));
+        assertThat(totals()).containsOnly(entry("Cola", 3), entry("Fries", 1));
+
+        // a repeated send must not count the order twice
+        service.onOrderStatusChanged(changed(3L, OrderStatus.SENT_TO_KITCHEN));
+        KitchenBoardResponse board = service.getBoard(RESTAURANT);
+        assertThat(totals()).containsOnly(entry("Cola", 3), entry("Fries", 1));
+        assertThat(board.orderCount()).isEqualTo(2);
+        assertThat(board.items()).extracting(KitchenBoardItem::itemName).containsExactly("Cola", "Fries");
+    }
+
+    @Test
+    void orderRemovedBeforeTheInitialLoadIsNotBroughtBackByTheSnapshot() {
+        service.onOrderStatusChanged(changed(1L, OrderStatus.READY));
+        service.onOrderStatusChanged(changed(2L, OrderStatus.SENT_TO_KITCHEN));
+        // the snapshot was read before both transitions committed
+        givenSnapshot(List.of(LINES.get(1L).get(0), LINES.get(1L).get(1), LINES.get(2L).get(0)));
+
+        KitchenBoardResponse board = service.getBoard(RESTAURANT);
+
+        assertThat(totals()).containsOnly(entry("Burger", 1));
+        assertThat(board.orderCount()).isEqualTo(1);
+
+        // once loaded, the board no longer needs to remember removals
+        service.onOrderStatusChanged(changed(1L, OrderStatus.SENT_TO_KITCHEN));
+        assertThat(totals()).containsOnly(entry("Burger", 3), entry("Cola", 1));
+    }
+
+    @Test
+    void rebuildPicksUpTransitionsMadeOnAnotherInstance() {
+        givenSnapshot(List.of(LINES.get(1L).get(0), LINES.get(1L).get(1)));
+        assertThat(totals()).containsOnly(entry("Burger", 2), entry("Cola", 1));
+
+        // order 1 was marked ready and order 4 sent elsewhere; no event reached this instance
+        givenSnapshot(LINES.get(4L));
+        assertThat(totals()).containsOnly(entry("Burger", 2), entry("Cola", 1));
+
+        service.rebuild();
+
+        assertThat(totals()).containsOnly(entry("Fries", 1));
+    }
+
+    private void givenSnapshot(List<KitchenLine> lines) {
+        when(orderItemRepository.findKitchenLines(eq(RESTAURANT), eq(OrderStatus.SENT_TO_KITCHEN), any(Instant.class)))
+                .thenReturn(lines);
+    }
+
+    private Map<String, Integer> totals() {
+        return service.getBoard(RESTAURANT).items().stream()
+                .collect(Collectors.toMap(KitchenBoardItem::itemName, KitchenBoardItem::totalQuantity));
+    }
+
+    private static OrderSubmittedEvent submitted(Long orderId, OrderStatus status) {
+        return new OrderSubmittedEvent(RESTAURANT,
+                new OrderSummaryDto(orderId, orderId.intValue(), SENT, BigDecimal.TEN, status));
+    }
+
+    private static OrderStatusChangedEvent changed(Long orderId, OrderStatus status) {
+        return new OrderStatusChangedEvent(RESTAURANT, status(orderId, status));
+    }
+
+    private static OrderStatusResponse status(Long orderId, OrderStatus status) {
+        return new OrderStatusResponse(orderId, status, SENT, 1L);
+    }
+
+    private static KitchenLine line(Long orderId, Long menuItemId, String itemName, int quantity) {
+        return new KitchenLine(orderId, orderId.intValue(), SENT, menuItemId, itemName, quantity, null);
+    }
+}
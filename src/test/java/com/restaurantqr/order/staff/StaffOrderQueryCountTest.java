@@ -0,0 +1,100 @@
+package com.restaurantqr.order.staff;
+
+import com.restaurantqr.menu.MenuItemRepository;
+import com.restaurantqr.order.OrderService;
+import com.restaurantqr.order.SubmitOrderItemRequest;
+import com.restaurantqr.order.SubmitOrderRequest;
+import com.restaurantqr.order.SubmitOrderResponse;
+import com.restaurantqr.table.QrTokenResolver;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Staff order reads must stay at a fixed number of statements whatever the number of orders / items:
+ * one for a list, two (header + items) for details.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.seed.tables-per-restaurant=3",
+        // the dev secret is shorter than the 256 bits HS256 requires
+        "app.jwt.secret=test-secret-0123456789abcdef0123456789abcdef",
+        // keep scheduled DB work out of the measured window
+        "app.metrics.open-orders-refresh=1h"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StaffOrderQueryCountTest {
+
+    @Autowired
+    private StaffOrderService staffOrderService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private QrTokenResolver qrTokenResolver;
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long restaurantId;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeAll
+    void submitOrders() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        restaurantId = qrTokenResolver.resolveActive("DEMO-TABLE-1").restaurantId();
+        Long itemId = menuItemRepository.findActiveAvailableItemDtos(restaurantId).get(0).id();
+        // one order per table (rate limit), several items each
+        for (int table = 1; table <= 3; table++) {
+            SubmitOrderResponse response = orderService.submitOrder("DEMO-TABLE-" + table, new SubmitOrderRequest(List.of(
+                    new SubmitOrderItemRequest(itemId, 1, null),
+                    new SubmitOrderItemRequest(itemId, 2, "no ice"),
+                    new SubmitOrderItemRequest(itemId, 3, null)), null));
+            orderIds.add(response.orderId());
+        }
+    }
+
+    @Test
+    void orderSliceIsOneStatement() {
+        OrderSliceResponse slice = countStatements(1, () -> staffOrderService.getOrderSlice(restaurantId, 20, null, null));
+
+        assertThat(slice.items()).extracting(OrderSummaryDto::orderId).containsAll(orderIds);
+    }
+
+    @Test
+    void recentOrdersPageIsOneStatementWhenTheFirstPageIsNotFull() {
+        Page<OrderSummaryDto> page = countStatements(1, () -> staffOrderService.getRecentOrders(restaurantId,
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")), null));
+
+        assertThat(page.getContent()).extracting(OrderSummaryDto::orderId).containsAll(orderIds);
+    }
+
+    @Test
+    void orderDetailsAreTwoStatements() {
+        OrderDetailsDto details = countStatements(2, () -> staffOrderService.getOrderDetails(restaurantId, orderIds.get(0)));
+
+        assertThat(details.items()).hasSize(3);
+    }
+
+    private <T> T countStatements(long expected, Supplier<T> call) {
+        statistics.clear();
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount()).as("prepared statements").isEqualTo(expected);
+        return result;
+    }
+}